@@ -1,14 +0,0 @@
-package br.insper.loja.partida.dto;
-
-import lombok.Getter;
-import lombok.Setter;
-
-@Getter
-@Setter
-public class RetornarPartidaDTO {
-    private String nomeMandante;
-    private String nomeVisitante;
-    private Integer placarMandante;
-    private Integer placarVisitante;
-    private String status;
-}
@@ -1,15 +1,18 @@
 package br.insper.tabela.common;
 
-import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.contrato.partida.PartidaEventoDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,23 +21,27 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
-    public ConsumerFactory<String, RetornarPartidaDTO> consumerFactory() {
+    public ConsumerFactory<String, PartidaEvento> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
 
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "grupo_pedidos");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, PartidaEventoDeserializer.class);
 
-        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
-                new JsonDeserializer<>(RetornarPartidaDTO.class));
+        DefaultKafkaConsumerFactory<String, PartidaEvento> factory = new DefaultKafkaConsumerFactory<>(config,
+                new StringDeserializer(), new PartidaEventoDeserializer());
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, RetornarPartidaDTO> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, RetornarPartidaDTO> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, PartidaEvento> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PartidaEvento> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         return factory;
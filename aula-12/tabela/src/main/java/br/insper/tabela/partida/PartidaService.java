@@ -1,8 +1,9 @@
 package br.insper.tabela.partida;
 
-import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.contrato.partida.PartidaEvento;
 import br.insper.tabela.tabela.Tabela;
 import br.insper.tabela.tabela.TabelaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
@@ -13,8 +14,9 @@ public class PartidaService {
     @Autowired
     private TabelaRepository tabelaRepository;
 
+    @Timed(value = "tabela.partidas", histogram = true)
     @KafkaListener(topics = "partidas")
-    public void getPartidas(RetornarPartidaDTO dto) {
+    public void getPartidas(PartidaEvento dto) {
 
         Tabela mandante = tabelaRepository.findByTime(dto.getNomeMandante());
         Tabela visitante = tabelaRepository.findByTime(dto.getNomeVisitante());
@@ -4,12 +4,19 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document
+@CompoundIndex(name = "partida_status_resultado", def = "{'idPartida': 1, 'status': 1, 'resultado': 1}")
+// listagem: igualdade primeiro, depois a ordenacao (dataAposta, _id) usada pelo cursor
+@CompoundIndex(name = "data", def = "{'dataAposta': -1, '_id': -1}")
+@CompoundIndex(name = "status_data", def = "{'status': 1, 'dataAposta': -1, '_id': -1}")
+@CompoundIndex(name = "partida_data", def = "{'idPartida': 1, 'dataAposta': -1, '_id': -1}")
+@CompoundIndex(name = "resultado_data", def = "{'resultado': 1, 'dataAposta': -1, '_id': -1}")
 @Getter
 @Setter
 public class Aposta {
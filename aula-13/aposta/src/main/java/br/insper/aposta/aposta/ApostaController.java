@@ -1,8 +1,11 @@
 package br.insper.aposta.aposta;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -13,8 +16,22 @@ public class ApostaController {
     private ApostaService apostaService;
 
     @GetMapping
-    public List<Aposta> listar() {
-        return apostaService.listar();
+    public ResponseEntity<List<Aposta>> listar(@RequestParam(required = false) String status,
+                                               @RequestParam(required = false) Integer idPartida,
+                                               @RequestParam(required = false) String resultado,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "100") Integer tamanho) {
+        List<Aposta> apostas = apostaService.listar(status, idPartida, resultado, de, ate, cursor, tamanho);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!apostas.isEmpty() && apostas.size() >= ApostaService.limite(tamanho)) {
+            response.header("X-Proximo-Cursor", ApostaService.cursor(apostas.getLast()));
+        }
+        return response.body(apostas);
     }
 
     @PostMapping
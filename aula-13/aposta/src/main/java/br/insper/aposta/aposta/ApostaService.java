@@ -1,15 +1,20 @@
 package br.insper.aposta.aposta;
 
 import br.insper.aposta.partida.PartidaNaoEncontradaException;
-import br.insper.aposta.partida.PartidaNaoRealizadaException;
-import br.insper.aposta.partida.PartidaService;
+import br.insper.aposta.partida.PartidaReplicaService;
 import br.insper.aposta.partida.RetornarPartidaDTO;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,76 +22,125 @@ import java.util.UUID;
 @Service
 public class ApostaService {
 
+    public static final int TAMANHO_MAXIMO_PAGINA = 500;
+
     @Autowired
     private ApostaRepository apostaRepository;
 
     @Autowired
-    private PartidaService partidaService;
+    private PartidaReplicaService partidaReplicaService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
+    @Timed(value = "aposta.service", histogram = true)
     public Aposta salvar(Aposta aposta) {
         aposta.setId(UUID.randomUUID().toString());
 
-        ResponseEntity<RetornarPartidaDTO> partida = partidaService.getPartida(aposta.getIdPartida());
+        Optional<RetornarPartidaDTO> partida = partidaReplicaService.getPartida(aposta.getIdPartida());
 
-        if (partida.getStatusCode().is2xxSuccessful())  {
+        if (partida.isPresent())  {
             aposta.setStatus("REALIZADA");
             aposta.setDataAposta(LocalDateTime.now());
 
-            return apostaRepository.save(aposta);
+            // partida ja realizada: a aposta ja nasce apurada
+            apurar(aposta, partida.get());
+            Aposta salva = apostaRepository.save(aposta);
+
+            if (salva.getStatus().equals("REALIZADA")) {
+                // o resultado pode ter chegado entre a consulta acima e o save, depois da apuracao em lote
+                Optional<RetornarPartidaDTO> atual = partidaReplicaService.getPartidaLocal(salva.getIdPartida());
+                if (atual.isPresent() && apurar(salva, atual.get())) {
+                    salva = apostaRepository.save(salva);
+                }
+            }
+            return salva;
         } else {
             throw new PartidaNaoEncontradaException("Partida não encontrada");
         }
 
     }
 
-    public List<Aposta> listar() {
-        return apostaRepository.findAll();
+    private boolean apurar(Aposta aposta, RetornarPartidaDTO partida) {
+        if (!"REALIZADA".equals(partida.getStatus())) {
+            return false;
+        }
+        String vencedor = ApuracaoService.resultado(partida.getPlacarMandante(), partida.getPlacarVisitante());
+        aposta.setStatus(vencedor.equals(aposta.getResultado()) ? "GANHOU" : "PERDEU");
+        return true;
     }
 
-    public Aposta getAposta(String idAposta) {
+    @Timed(value = "aposta.service", histogram = true)
+    public List<Aposta> listar(String status, Integer idPartida, String resultado,
+                               LocalDateTime de, LocalDateTime ate, String cursor, Integer tamanho) {
+        return mongoTemplate.find(consulta(status, idPartida, resultado, de, ate, cursor, limite(tamanho)), Aposta.class);
+    }
 
-        Optional<Aposta> op = apostaRepository.findById(idAposta);
+    // tamanho de pagina efetivamente usado na consulta
+    public static int limite(Integer tamanho) {
+        return Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA);
+    }
 
-        if (!op.isPresent()) {
-            throw new ApostaNaoEncontradaException("Aposta não encontrada");
+    // mais recentes primeiro; o cursor e a (dataAposta, id) da ultima aposta da pagina anterior
+    static Query consulta(String status, Integer idPartida, String resultado,
+                          LocalDateTime de, LocalDateTime ate, String cursor, int limite) {
+        List<Criteria> filtros = new ArrayList<>();
+        if (status != null) {
+            filtros.add(Criteria.where("status").is(status));
         }
-
-        Aposta aposta = op.get();
-
-        if (!aposta.getStatus().equals("REALIZADA")) {
-            return aposta;
+        if (idPartida != null) {
+            filtros.add(Criteria.where("idPartida").is(idPartida));
+        }
+        if (resultado != null) {
+            filtros.add(Criteria.where("resultado").is(resultado));
+        }
+        if (de != null || ate != null) {
+            Criteria data = Criteria.where("dataAposta");
+            if (de != null) {
+                data = data.gte(de);
+            }
+            if (ate != null) {
+                data = data.lt(ate);
+            }
+            filtros.add(data);
+        }
+        if (cursor != null) {
+            Aposta ultima = lerCursor(cursor);
+            filtros.add(new Criteria().orOperator(
+                    Criteria.where("dataAposta").lt(ultima.getDataAposta()),
+                    Criteria.where("dataAposta").is(ultima.getDataAposta()).and("_id").lt(ultima.getId())));
         }
 
-        ResponseEntity<RetornarPartidaDTO> partida = partidaService.getPartida(aposta.getIdPartida());
-
-        if (partida.getStatusCode().is2xxSuccessful())  {
-            RetornarPartidaDTO partidaDTO = partida.getBody();
-
-            if (partidaDTO.getStatus().equals("REALIZADA")) {
-
-                if (aposta.getResultado().equals("EMPATE") && partidaDTO.isEmpate()) {
-                    aposta.setStatus("GANHOU");
-                }
-
-                if (aposta.getResultado().equals("VITORIA_MANDANTE") && partidaDTO.isVitoriaMandante()) {
-                    aposta.setStatus("GANHOU");
-                }
-
-                if (aposta.getResultado().equals("EMPATE") && partidaDTO.isVitoriaVisitante()) {
-                    aposta.setStatus("GANHOU");
-                }
+        Query query = new Query();
+        if (!filtros.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(filtros));
+        }
+        return query.with(Sort.by(Sort.Direction.DESC, "dataAposta", "_id")).limit(limite);
+    }
 
-                if (aposta.getStatus().equals("REALIZADA")) {
-                    aposta.setStatus("PERDEU");
-                }
-            } else {
-                throw new PartidaNaoRealizadaException("Partida não realizada");
-            }
-            return apostaRepository.save(aposta);
+    public static String cursor(Aposta aposta) {
+        String valor = aposta.getDataAposta() + "|" + aposta.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
 
-        } else {
-            throw new PartidaNaoEncontradaException("Partida não encontrada");
+    private static Aposta lerCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            Aposta aposta = new Aposta();
+            aposta.setDataAposta(LocalDateTime.parse(valor.substring(0, separador)));
+            aposta.setId(valor.substring(separador + 1));
+            return aposta;
+        } catch (RuntimeException e) {
+            throw new CursorInvalidoException("Cursor invalido");
         }
+    }
+
+    @Timed(value = "aposta.service", histogram = true)
+    public Aposta getAposta(String idAposta) {
 
+        // a apuracao acontece no ApuracaoService quando o resultado chega pelo topico partidas
+        return apostaRepository.findById(idAposta)
+                .orElseThrow(() -> new ApostaNaoEncontradaException("Aposta não encontrada"));
     }
 }
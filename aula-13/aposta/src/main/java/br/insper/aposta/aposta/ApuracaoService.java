@@ -0,0 +1,89 @@
+package br.insper.aposta.aposta;
+
+import br.insper.contrato.partida.PartidaEvento;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Apura de uma vez todas as apostas de uma partida quando o campeonato publica o resultado.
+ */
+@Service
+public class ApuracaoService {
+
+    public static final List<String> RESULTADOS = List.of("EMPATE", "VITORIA_MANDANTE", "VITORIA_VISITANTE");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter apuradas;
+
+    private DistributionSummary apostasPorPartida;
+
+    private Timer tempoApuracao;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        apuradas = Counter.builder("apostas.apuradas")
+                .description("Apostas apuradas a partir do topico partidas")
+                .register(meterRegistry);
+        apostasPorPartida = DistributionSummary.builder("apostas.apuracao.tamanho")
+                .description("Apostas apuradas por partida")
+                .register(meterRegistry);
+        tempoApuracao = Timer.builder("apostas.apuracao")
+                .description("Tempo para apurar todas as apostas de uma partida")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // publicado pela replica de partidas, na thread do consumidor, depois de gravar a copia local;
+    // o ApostaService confere essa copia depois de salvar, entao nenhuma aposta escapa das duas apuracoes
+    @EventListener
+    public void apurar(PartidaEvento evento) {
+        if (!"REALIZADA".equals(evento.getStatus())) {
+            return;
+        }
+        tempoApuracao.record(() -> apurar(evento.getId(),
+                resultado(evento.getPlacarMandante(), evento.getPlacarVisitante())));
+    }
+
+    private void apurar(Integer idPartida, String vencedor) {
+        // um update por resultado apostado; so apostas ainda abertas, o que torna a reentrega inofensiva
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Aposta.class);
+        for (String resultado : RESULTADOS) {
+            Query query = Query.query(Criteria.where("idPartida").is(idPartida)
+                    .and("status").is("REALIZADA")
+                    .and("resultado").is(resultado));
+            bulk.updateMulti(query, Update.update("status", resultado.equals(vencedor) ? "GANHOU" : "PERDEU"));
+        }
+        BulkWriteResult resultado = bulk.execute();
+
+        apuradas.increment(resultado.getModifiedCount());
+        apostasPorPartida.record(resultado.getModifiedCount());
+    }
+
+    public static String resultado(Integer placarMandante, Integer placarVisitante) {
+        if (Objects.equals(placarMandante, placarVisitante)) {
+            return "EMPATE";
+        }
+        return placarMandante > placarVisitante ? "VITORIA_MANDANTE" : "VITORIA_VISITANTE";
+    }
+
+}
@@ -0,0 +1,8 @@
+package br.insper.aposta.aposta;
+
+public class CursorInvalidoException extends RuntimeException {
+
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,90 @@
+package br.insper.aposta.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Guarda os tokens ja verificados, indexados pela assinatura, ate o {@code exp} de cada um,
+ * evitando repetir o parse e a verificacao da assinatura a cada requisicao do mesmo usuario.
+ */
+public class CachedJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> cache;
+
+    private final Timer tempoAcerto;
+
+    private final Timer tempoVerificacao;
+
+    public CachedJwtDecoder(JwtDecoder delegate, String emissor, long tamanhoMaximo, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraNoExp())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt", "emissor", emissor);
+        tempoAcerto = Timer.builder("auth.jwt.decode")
+                .tag("emissor", emissor)
+                .tag("cache", "hit")
+                .register(meterRegistry);
+        tempoVerificacao = Timer.builder("auth.jwt.decode")
+                .tag("emissor", emissor)
+                .tag("cache", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long inicio = System.nanoTime();
+
+        int separador = token.lastIndexOf('.');
+        if (separador < 0) {
+            return delegate.decode(token);
+        }
+        String assinatura = token.substring(separador + 1);
+
+        Jwt jwt = cache.getIfPresent(assinatura);
+        if (jwt != null && jwt.getTokenValue().equals(token)) {
+            tempoAcerto.record(Duration.ofNanos(System.nanoTime() - inicio));
+            return jwt;
+        }
+
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            cache.put(assinatura, jwt);
+        }
+        tempoVerificacao.record(Duration.ofNanos(System.nanoTime() - inicio));
+        return jwt;
+    }
+
+    private static class ExpiraNoExp implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String assinatura, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String assinatura, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(assinatura, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String assinatura, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
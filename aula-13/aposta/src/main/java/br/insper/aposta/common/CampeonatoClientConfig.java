@@ -0,0 +1,89 @@
+package br.insper.aposta.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Cliente unico para o campeonato: pool de conexoes limitado com keep-alive, timeouts de conexao,
+ * de espera por uma conexao do pool e de resposta. O RestClient.Builder do Spring Boot registra
+ * http.client.requests para cada chamada.
+ */
+@Configuration
+public class CampeonatoClientConfig {
+
+    @Value("${campeonato.url:http://campeonato:8080}")
+    private String url;
+
+    @Value("${campeonato.cliente.conexoes:50}")
+    private int conexoes;
+
+    @Value("${campeonato.cliente.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${campeonato.cliente.read-timeout:2s}")
+    private Duration readTimeout;
+
+    @Value("${campeonato.cliente.pool-timeout:200ms}")
+    private Duration poolTimeout;
+
+    @Bean
+    public PoolingHttpClientConnectionManager campeonatoConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(conexoes)
+                .setMaxConnPerRoute(conexoes)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "campeonato").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient campeonatoHttpClient(PoolingHttpClientConnectionManager campeonatoConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(campeonatoConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public RestClient campeonatoRestClient(RestClient.Builder builder, CloseableHttpClient campeonatoHttpClient) {
+        return builder
+                .baseUrl(url)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(campeonatoHttpClient))
+                // o campeonato tambem exige JWT: repassa o token de quem chamou a aposta
+                .requestInterceptor((request, body, execution) -> {
+                    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                    if (authentication instanceof JwtAuthenticationToken jwt) {
+                        request.getHeaders().setBearerAuth(jwt.getToken().getTokenValue());
+                    }
+                    return execution.execute(request, body);
+                })
+                .build();
+    }
+}
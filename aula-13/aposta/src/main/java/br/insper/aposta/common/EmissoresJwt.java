@@ -0,0 +1,96 @@
+package br.insper.aposta.common;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prepara os AuthenticationManager de cada emissor confiavel durante a inicializacao, antes de
+ * o servidor aceitar requisicoes, e mantem as chaves atualizadas em segundo plano.
+ */
+@Component
+public class EmissoresJwt implements SmartInitializingSingleton {
+
+    private static final long TAMANHO_CACHE_TOKENS = 10_000;
+
+    private final Map<String, EmissorJwks> chaves = new ConcurrentHashMap<>();
+
+    private final Map<String, AuthenticationManager> authenticationManagers = new ConcurrentHashMap<>();
+
+    @Value("${seguranca.emissores:https://zambom.botcity.dev:8050/realms/teste}")
+    private List<String> emissores;
+
+    @Value("${seguranca.jwks.diretorio:}")
+    private String diretorio;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String emissor : emissores) {
+            EmissorJwks jwks = new EmissorJwks(emissor, getArquivo(emissor));
+            if (!jwks.carregarArquivo()) {
+                jwks.atualizar();
+            }
+            chaves.put(emissor, jwks);
+
+            CachedJwtDecoder decoder = new CachedJwtDecoder(criarDecoder(emissor, jwks), emissor,
+                    TAMANHO_CACHE_TOKENS, meterRegistry);
+            authenticationManagers.put(emissor, new JwtAuthenticationProvider(decoder)::authenticate);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${seguranca.jwks.intervalo-atualizacao:300000}",
+            fixedDelayString = "${seguranca.jwks.intervalo-atualizacao:300000}")
+    public void atualizarChaves() {
+        for (EmissorJwks jwks : chaves.values()) {
+            jwks.atualizar();
+        }
+    }
+
+    public AuthenticationManager getAuthenticationManager(String emissor) {
+        return authenticationManagers.get(emissor);
+    }
+
+    public boolean isCarregado() {
+        return chaves.size() == emissores.size()
+                && chaves.values().stream().allMatch(EmissorJwks::isCarregado);
+    }
+
+    public static JwtDecoder criarDecoder(String emissor, EmissorJwks jwks) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.Family.RSA, jwks));
+        // as claims sao validadas pelo JwtValidator do Spring
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(emissor));
+        return decoder;
+    }
+
+    private Path getArquivo(String emissor) {
+        if (diretorio == null || diretorio.isBlank()) {
+            return null;
+        }
+        return Path.of(diretorio, emissor.replaceAll("[^A-Za-z0-9]", "_") + ".json");
+    }
+}
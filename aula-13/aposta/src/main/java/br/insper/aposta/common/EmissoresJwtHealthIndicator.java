@@ -0,0 +1,21 @@
+package br.insper.aposta.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component("jwks")
+public class EmissoresJwtHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private EmissoresJwt emissoresJwt;
+
+    @Override
+    public Health health() {
+        if (emissoresJwt.isCarregado()) {
+            return Health.up().build();
+        }
+        return Health.down().withDetail("motivo", "chaves dos emissores ainda nao carregadas").build();
+    }
+}
@@ -0,0 +1,46 @@
+package br.insper.aposta.common;
+
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.contrato.partida.PartidaEventoDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+
+import java.util.Map;
+
+@EnableKafka
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Autowired
+    private KafkaProperties kafkaProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public ConsumerFactory<String, PartidaEvento> consumerFactory() {
+        Map<String, Object> config = kafkaProperties.buildConsumerProperties(null);
+
+        DefaultKafkaConsumerFactory<String, PartidaEvento> factory = new DefaultKafkaConsumerFactory<>(config,
+                new StringDeserializer(), new PartidaEventoDeserializer());
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PartidaEvento> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PartidaEvento> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        return factory;
+    }
+}
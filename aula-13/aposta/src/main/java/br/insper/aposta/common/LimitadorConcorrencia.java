@@ -0,0 +1,91 @@
+package br.insper.aposta.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisicoes simultaneas ajustado pela latencia observada, no estilo do Gradient2 do
+ * Netflix concurrency-limits. A latencia de longo prazo e uma media movel; quando a amostra atual
+ * passa dela, o limite encolhe proporcionalmente (gradiente entre 0.5 e 1); quando fica igual,
+ * o limite cresce raiz(limite) por ajuste. Respostas com erro reduzem o limite em 10%.
+ */
+public class LimitadorConcorrencia {
+
+    private static final double SUAVIZACAO = 0.2;
+
+    private static final double TOLERANCIA = 1.5;
+
+    private static final int JANELA_LONGA = 600;
+
+    private final int limiteMinimo;
+
+    private final int limiteMaximo;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    private volatile double limite;
+
+    private double rttLongo;
+
+    private long amostras;
+
+    public LimitadorConcorrencia(int limiteInicial, int limiteMinimo, int limiteMaximo) {
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+    }
+
+    public boolean adquirir() {
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= (int) limite) {
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void liberar(long rttNanos, boolean erro) {
+        int emVoo = emAndamento.getAndDecrement();
+        atualizar(Math.max(1, rttNanos), emVoo, erro);
+    }
+
+    // devolve a vaga sem usar a requisicao como amostra
+    public void descartar() {
+        emAndamento.decrementAndGet();
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    private synchronized void atualizar(long rtt, int emVoo, boolean erro) {
+        if (erro) {
+            limite = Math.max(limiteMinimo, limite * 0.9);
+            return;
+        }
+
+        amostras++;
+        double fator = 2.0 / (Math.min(amostras, JANELA_LONGA) + 1);
+        rttLongo = rttLongo == 0 ? rtt : rttLongo * (1 - fator) + rtt * fator;
+        // latencia atual muito abaixo da media: a fila esvaziou, entao a media converge mais rapido
+        if (rttLongo / rtt > 2) {
+            rttLongo *= 0.95;
+        }
+
+        // com poucas requisicoes em andamento a latencia nao diz nada sobre o limite
+        if (emVoo < limite / 2) {
+            return;
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * rttLongo / rtt));
+        double novo = limite * gradiente + Math.sqrt(limite);
+        novo = limite * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novo));
+    }
+}
@@ -1,4 +1,5 @@
 package br.insper.aposta.common;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -6,11 +7,13 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtIss
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import java.util.Arrays;
 
 @Configuration
 public class WebSecurityConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private EmissoresJwt emissoresJwt;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**").allowedMethods("*");
@@ -19,12 +22,15 @@ public class WebSecurityConfig implements WebMvcConfigurer {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        JwtIssuerAuthenticationManagerResolver authenticationManagerResolver = JwtIssuerAuthenticationManagerResolver
-                .fromTrustedIssuers(Arrays.asList("https://zambom.botcity.dev:8050/realms/teste"));
+        JwtIssuerAuthenticationManagerResolver authenticationManagerResolver =
+                new JwtIssuerAuthenticationManagerResolver(emissoresJwt::getAuthenticationManager);
 
         http
                 .authorizeHttpRequests(authorize ->
                         authorize
+                                // o actuator so responde na management.server.port, que fica fora do
+                                // balanceador; la as probes e o scrape do Prometheus nao levam token
+                                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -32,4 +38,4 @@ public class WebSecurityConfig implements WebMvcConfigurer {
                 .csrf(csrf -> csrf.disable());
         return http.build();
     }
-}
\ No newline at end of file
+}
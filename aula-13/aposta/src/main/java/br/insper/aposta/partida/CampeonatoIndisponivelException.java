@@ -0,0 +1,7 @@
+package br.insper.aposta.partida;
+
+public class CampeonatoIndisponivelException extends RuntimeException {
+    public CampeonatoIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package br.insper.aposta.partida;
+
+import br.insper.aposta.common.Erro;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+
+@ControllerAdvice
+public class PartidaAdvice {
+
+    @ExceptionHandler(CampeonatoIndisponivelException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Erro campeonatoIndisponivelHandler(CampeonatoIndisponivelException e) {
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(503);
+        return erro;
+    }
+
+}
@@ -0,0 +1,39 @@
+package br.insper.aposta.partida;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copia local de uma partida do campeonato, alimentada pelo topico partidas.
+ */
+@Document("partidas")
+@Getter
+@Setter
+public class PartidaLocal {
+
+    @Id
+    private Integer id;
+    private String nomeMandante;
+    private String nomeVisitante;
+    private Integer placarMandante;
+    private Integer placarVisitante;
+    private String status;
+    // versao da partida no campeonato; nula para copias feitas por HTTP
+    private Long versao;
+    private LocalDateTime dataAtualizacao;
+
+    public RetornarPartidaDTO toDTO() {
+        RetornarPartidaDTO dto = new RetornarPartidaDTO();
+        dto.setId(id);
+        dto.setNomeMandante(nomeMandante);
+        dto.setNomeVisitante(nomeVisitante);
+        dto.setPlacarMandante(placarMandante);
+        dto.setPlacarVisitante(placarVisitante);
+        dto.setStatus(status);
+        return dto;
+    }
+}
@@ -0,0 +1,8 @@
+package br.insper.aposta.partida;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PartidaLocalRepository extends MongoRepository<PartidaLocal, Integer> {
+}
@@ -0,0 +1,205 @@
+package br.insper.aposta.partida;
+
+import br.insper.contrato.partida.PartidaEvento;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Estado local das partidas, montado a partir do topico partidas publicado pelo campeonato.
+ * Partidas realizadas quase nao mudam e ficam em memoria por um tempo limitado: o placar ainda
+ * pode ser corrigido, e so a instancia que consome o evento atualiza a propria memoria. O Mongo
+ * e a copia de referencia, e eventos atrasados (versao menor que a gravada) sao descartados. O
+ * campeonato so e chamado para ids que ainda nao apareceram.
+ */
+@Service
+public class PartidaReplicaService {
+
+    @Autowired
+    private PartidaLocalRepository partidaLocalRepository;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${partidas.replica.tamanho-memoria:100000}")
+    private long tamanhoMemoria = 100000;
+
+    // quanto tempo uma instancia pode seguir com um placar corrigido em outra
+    @Value("${partidas.replica.expiracao-memoria:5m}")
+    private Duration expiracaoMemoria = Duration.ofMinutes(5);
+
+    private Cache<Integer, RetornarPartidaDTO> realizadas;
+
+    private Counter lidasMemoria;
+
+    private Counter lidasMongo;
+
+    private Counter lidasCampeonato;
+
+    private Counter eventos;
+
+    private Counter atrasados;
+
+    @PostConstruct
+    public void iniciar() {
+        realizadas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMemoria)
+                .expireAfterWrite(expiracaoMemoria)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, realizadas, "partidas-realizadas");
+
+        lidasMemoria = contador("memoria");
+        lidasMongo = contador("mongo");
+        lidasCampeonato = contador("campeonato");
+        eventos = Counter.builder("partidas.replica.eventos")
+                .description("Eventos do topico partidas aplicados no estado local")
+                .register(meterRegistry);
+        atrasados = Counter.builder("partidas.replica.eventos.atrasados")
+                .description("Eventos do topico partidas descartados por trazerem uma versao antiga")
+                .register(meterRegistry);
+    }
+
+    private Counter contador(String origem) {
+        return Counter.builder("partidas.replica.leituras")
+                .description("Consultas de partida por origem da resposta")
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+
+    @Timed(value = "partidas.replica.evento", histogram = true)
+    @KafkaListener(topics = "partidas")
+    public void atualizar(PartidaEvento evento) {
+        if (!gravar(evento)) {
+            atrasados.increment();
+            return;
+        }
+        PartidaLocal partida = new PartidaLocal();
+        partida.setId(evento.getId());
+        partida.setNomeMandante(evento.getNomeMandante());
+        partida.setNomeVisitante(evento.getNomeVisitante());
+        partida.setPlacarMandante(evento.getPlacarMandante());
+        partida.setPlacarVisitante(evento.getPlacarVisitante());
+        partida.setStatus(evento.getStatus());
+        lembrar(partida.toDTO());
+        eventos.increment();
+
+        // a apuracao roda aqui, sincrona e so depois da copia gravada: se falhar, o evento e reentregue
+        eventPublisher.publishEvent(evento);
+    }
+
+    // so grava se a copia local nao for mais nova. a mesma versao e regravada para que um evento
+    // reentregue ainda passe pela apuracao; a copia feita por HTTP nao tem versao e o evento sempre
+    // prevalece sobre ela, assim como eventos de produtores que ainda nao mandam versao
+    private boolean gravar(PartidaEvento evento) {
+        Criteria criteria = Criteria.where("id").is(evento.getId());
+        if (evento.getVersao() != null) {
+            criteria = criteria.and("versao").not().gt(evento.getVersao());
+        }
+        Update update = new Update()
+                .set("nomeMandante", evento.getNomeMandante())
+                .set("nomeVisitante", evento.getNomeVisitante())
+                .set("placarMandante", evento.getPlacarMandante())
+                .set("placarVisitante", evento.getPlacarVisitante())
+                .set("status", evento.getStatus())
+                .set("versao", evento.getVersao())
+                .set("dataAtualizacao", LocalDateTime.now());
+        try {
+            mongoTemplate.upsert(Query.query(criteria), update, PartidaLocal.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // a partida existe com versao maior: o upsert tentou inserir outra com o mesmo id
+            return false;
+        }
+    }
+
+    /**
+     * Consulta so o estado local, sem recorrer ao campeonato.
+     */
+    public Optional<RetornarPartidaDTO> getPartidaLocal(Integer idPartida) {
+        RetornarPartidaDTO realizada = realizadas.getIfPresent(idPartida);
+        if (realizada != null) {
+            return Optional.of(realizada);
+        }
+        return partidaLocalRepository.findById(idPartida).map(PartidaLocal::toDTO);
+    }
+
+    public Optional<RetornarPartidaDTO> getPartida(Integer idPartida) {
+        RetornarPartidaDTO realizada = realizadas.getIfPresent(idPartida);
+        if (realizada != null) {
+            lidasMemoria.increment();
+            return Optional.of(realizada);
+        }
+
+        Optional<PartidaLocal> local = partidaLocalRepository.findById(idPartida);
+        if (local.isPresent()) {
+            lidasMongo.increment();
+            RetornarPartidaDTO dto = local.get().toDTO();
+            lembrar(dto);
+            return Optional.of(dto);
+        }
+
+        lidasCampeonato.increment();
+        Optional<RetornarPartidaDTO> partida = partidaService.getPartida(idPartida);
+        if (partida.isEmpty()) {
+            return Optional.empty();
+        }
+        RetornarPartidaDTO dto = partida.get();
+        copiar(dto);
+        lembrar(dto);
+        return Optional.of(dto);
+    }
+
+    private void copiar(RetornarPartidaDTO dto) {
+        PartidaLocal partida = new PartidaLocal();
+        partida.setId(dto.getId());
+        partida.setNomeMandante(dto.getNomeMandante());
+        partida.setNomeVisitante(dto.getNomeVisitante());
+        partida.setPlacarMandante(dto.getPlacarMandante());
+        partida.setPlacarVisitante(dto.getPlacarVisitante());
+        partida.setStatus(dto.getStatus());
+        partida.setDataAtualizacao(LocalDateTime.now());
+        try {
+            // insert e nao save: se o evento chegou enquanto o campeonato respondia, ele prevalece
+            partidaLocalRepository.insert(partida);
+        } catch (DuplicateKeyException e) {
+            // ja existe uma copia, possivelmente mais nova
+        }
+    }
+
+    private void lembrar(RetornarPartidaDTO dto) {
+        if ("REALIZADA".equals(dto.getStatus())) {
+            realizadas.put(dto.getId(), dto);
+        } else {
+            realizadas.invalidate(dto.getId());
+        }
+    }
+
+}
@@ -1,17 +1,212 @@
 package br.insper.aposta.partida;
 
-import org.springframework.http.ResponseEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Cliente do campeonato. Consultas simultaneas pela mesma partida compartilham uma unica chamada e
+ * ids diferentes pedidos dentro de uma janela curta sao buscados juntos em GET /partida?ids=.
+ */
 @Service
 public class PartidaService {
 
-    public ResponseEntity<RetornarPartidaDTO> getPartida(Integer idPartida) {
-        RestTemplate restTemplate = new RestTemplate();
-        return restTemplate.getForEntity(
-                "http://campeonato:8080/partida/" + idPartida,
-                RetornarPartidaDTO.class);
+    @Autowired
+    private RestClient campeonatoRestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${campeonato.cliente.bulkhead:20}")
+    private int maxChamadas = 20;
+
+    @Value("${campeonato.cliente.bulkhead-espera:100ms}")
+    private Duration espera = Duration.ofMillis(100);
+
+    @Value("${campeonato.cliente.janela-lote:5ms}")
+    private Duration janela = Duration.ofMillis(5);
+
+    @Value("${campeonato.cliente.tamanho-lote:100}")
+    private int tamanhoLote = 100;
+
+    // limita quantas threads de requisicao podem ficar presas esperando o campeonato
+    private Semaphore bulkhead;
+
+    private Counter rejeitadas;
+
+    private Counter coalescidas;
+
+    private DistributionSummary idsPorChamada;
+
+    private Timer tempoChamada;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guardados por lock
+    private final Map<Integer, CompletableFuture<Optional<RetornarPartidaDTO>>> emAndamento = new HashMap<>();
+
+    private Map<Integer, CompletableFuture<Optional<RetornarPartidaDTO>>> loteAberto;
+
+    @PostConstruct
+    public void iniciar() {
+        bulkhead = new Semaphore(maxChamadas);
+        Gauge.builder("campeonato.bulkhead.disponiveis", bulkhead, Semaphore::availablePermits)
+                .description("Chamadas ao campeonato que ainda podem ser feitas em paralelo")
+                .register(meterRegistry);
+        rejeitadas = Counter.builder("campeonato.bulkhead.rejeitadas")
+                .description("Chamadas ao campeonato recusadas pelo bulkhead")
+                .register(meterRegistry);
+        coalescidas = Counter.builder("campeonato.coalescidas")
+                .description("Consultas atendidas por uma chamada ao campeonato ja em andamento")
+                .register(meterRegistry);
+        idsPorChamada = DistributionSummary.builder("campeonato.lote.tamanho")
+                .description("Partidas pedidas em cada chamada ao campeonato")
+                .register(meterRegistry);
+        // chamado de dentro do proprio servico, por isso nao da para usar @Timed
+        tempoChamada = Timer.builder("aposta.campeonato")
+                .description("Tempo das consultas de partidas ao campeonato")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Optional<RetornarPartidaDTO> getPartida(Integer idPartida) {
+        CompletableFuture<Optional<RetornarPartidaDTO>> futuro;
+        Map<Integer, CompletableFuture<Optional<RetornarPartidaDTO>>> lote = null;
+
+        lock.lock();
+        try {
+            futuro = emAndamento.get(idPartida);
+            if (futuro != null) {
+                coalescidas.increment();
+            } else {
+                futuro = new CompletableFuture<>();
+                emAndamento.put(idPartida, futuro);
+                if (loteAberto == null) {
+                    loteAberto = new LinkedHashMap<>();
+                    lote = loteAberto;
+                }
+                loteAberto.put(idPartida, futuro);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // quem abre o lote espera a janela e faz a chamada na propria thread, com o proprio token
+        if (lote != null) {
+            aguardarJanela();
+            lock.lock();
+            try {
+                loteAberto = null;
+            } finally {
+                lock.unlock();
+            }
+            executar(lote);
+        }
+
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void aguardarJanela() {
+        if (janela.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(janela);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executar(Map<Integer, CompletableFuture<Optional<RetornarPartidaDTO>>> lote) {
+        List<Integer> ids = new ArrayList<>(lote.keySet());
+        try {
+            for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+                List<Integer> parte = ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size()));
+                try {
+                    Map<Integer, RetornarPartidaDTO> encontradas = new HashMap<>();
+                    for (RetornarPartidaDTO partida : getPartidas(parte)) {
+                        encontradas.put(partida.getId(), partida);
+                    }
+                    for (Integer id : parte) {
+                        lote.get(id).complete(Optional.ofNullable(encontradas.get(id)));
+                    }
+                } catch (RuntimeException e) {
+                    for (Integer id : parte) {
+                        lote.get(id).completeExceptionally(e);
+                    }
+                }
+            }
+        } finally {
+            lock.lock();
+            try {
+                // nada fica em cache aqui: a proxima consulta pelo mesmo id faz uma nova chamada
+                lote.keySet().forEach(emAndamento::remove);
+            } finally {
+                lock.unlock();
+            }
+            lote.values().forEach(futuro -> futuro.completeExceptionally(
+                    new CampeonatoIndisponivelException("Campeonato indisponível")));
+        }
+    }
+
+    public List<RetornarPartidaDTO> getPartidas(Collection<Integer> ids) {
+        if (!entrar()) {
+            rejeitadas.increment();
+            throw new CampeonatoIndisponivelException("Campeonato indisponível");
+        }
+        try {
+            idsPorChamada.record(ids.size());
+            String parametro = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+            return tempoChamada.record(() -> campeonatoRestClient.get()
+                    .uri("/partida?ids={ids}", parametro)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<RetornarPartidaDTO>>() {
+                    }));
+        } catch (ResourceAccessException e) {
+            throw new CampeonatoIndisponivelException("Campeonato indisponível");
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean entrar() {
+        try {
+            return bulkhead.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
 }
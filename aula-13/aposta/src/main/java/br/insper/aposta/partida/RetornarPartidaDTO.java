@@ -3,9 +3,12 @@ package br.insper.aposta.partida;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Objects;
+
 @Getter
 @Setter
 public class RetornarPartidaDTO {
+    private Integer id;
     private String nomeMandante;
     private String nomeVisitante;
     private Integer placarMandante;
@@ -13,7 +16,7 @@ public class RetornarPartidaDTO {
     private String status;
 
     public boolean isEmpate() {
-        return placarMandante == placarVisitante;
+        return Objects.equals(placarMandante, placarVisitante);
     }
 
     public boolean isVitoriaMandante() {
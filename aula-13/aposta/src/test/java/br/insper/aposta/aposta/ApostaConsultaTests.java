@@ -0,0 +1,134 @@
+package br.insper.aposta.aposta;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Roda as consultas da listagem contra um Mongo de verdade e confere o plano escolhido. Fica fora
+ * do build normal; com -Pintegracao e sem Docker o teste falha em vez de ser pulado.
+ */
+// mvn -Pintegracao test
+@Tag("integracao")
+@Testcontainers
+public class ApostaConsultaTests {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private static MongoClient client;
+
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    public static void setUp() {
+        client = MongoClients.create(MONGO.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(client, "aposta");
+
+        IndexOperations indices = mongoTemplate.indexOps(Aposta.class);
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(Aposta.class)
+                .forEach(indices::ensureIndex);
+
+        String[] status = {"REALIZADA", "GANHOU", "PERDEU"};
+        List<Aposta> apostas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Aposta aposta = new Aposta();
+            aposta.setId(String.format("aposta-%04d", i));
+            aposta.setIdPartida(i % 50);
+            // varias apostas no mesmo instante, para o desempate pelo id importar
+            aposta.setDataAposta(INICIO.plusMinutes(i / 3));
+            aposta.setResultado(ApuracaoService.RESULTADOS.get(i % 3));
+            aposta.setStatus(status[i % 7 % 3]);
+            aposta.setValor(10.0);
+            apostas.add(aposta);
+        }
+        mongoTemplate.insertAll(apostas);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void testNenhumaConsultaFazCollscan() {
+
+        String cursor = ApostaService.cursor(mongoTemplate.findById("aposta-0500", Aposta.class));
+        LocalDateTime de = INICIO.plusHours(1);
+        LocalDateTime ate = INICIO.plusHours(3);
+
+        List<Query> consultas = List.of(
+                ApostaService.consulta(null, null, null, null, null, null, 100),
+                ApostaService.consulta(null, null, null, null, null, cursor, 100),
+                ApostaService.consulta("GANHOU", null, null, null, null, null, 100),
+                ApostaService.consulta("GANHOU", null, null, null, null, cursor, 100),
+                ApostaService.consulta(null, 7, null, null, null, null, 100),
+                ApostaService.consulta(null, 7, "EMPATE", null, null, cursor, 100),
+                ApostaService.consulta(null, null, "VITORIA_MANDANTE", null, null, null, 100),
+                ApostaService.consulta(null, null, null, de, ate, null, 100),
+                ApostaService.consulta("PERDEU", 3, "EMPATE", de, ate, cursor, 100));
+
+        // mesmo mapeamento que o MongoTemplate aplica antes de enviar a consulta (datas, _id)
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Aposta.class);
+
+        for (Query consulta : consultas) {
+            Document plano = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Aposta.class))
+                    .find(mapper.getMappedObject(consulta.getQueryObject(), entidade))
+                    .sort(mapper.getMappedSort(consulta.getSortObject(), entidade))
+                    .limit(consulta.getLimit())
+                    .explain();
+            Document vencedor = plano.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            Assertions.assertFalse(vencedor.toJson().contains("COLLSCAN"), consulta + " -> " + vencedor.toJson());
+        }
+    }
+
+    @Test
+    public void testCursorPercorreTodasAsApostasSemRepetir() {
+
+        Set<String> vistas = new HashSet<>();
+        Aposta anterior = null;
+        String cursor = null;
+        do {
+            List<Aposta> pagina = mongoTemplate.find(
+                    ApostaService.consulta("GANHOU", null, null, null, null, cursor, 37), Aposta.class);
+            for (Aposta aposta : pagina) {
+                Assertions.assertTrue(vistas.add(aposta.getId()));
+                if (anterior != null) {
+                    Assertions.assertFalse(aposta.getDataAposta().isAfter(anterior.getDataAposta()));
+                }
+                anterior = aposta;
+            }
+            cursor = pagina.size() == 37 ? ApostaService.cursor(pagina.getLast()) : null;
+        } while (cursor != null);
+
+        Query todas = Query.query(Criteria.where("status").is("GANHOU"));
+        Assertions.assertEquals(mongoTemplate.count(todas, Aposta.class), vistas.size());
+    }
+}
@@ -0,0 +1,102 @@
+package br.insper.aposta.aposta;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class ApostaControllerTests {
+
+    @InjectMocks
+    private ApostaController apostaController;
+
+    @Mock
+    private ApostaService apostaService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(apostaController)
+                .setControllerAdvice(new ApostaAdvice())
+                .build();
+    }
+
+    @Test
+    public void testPaginaCheiaTemProximoCursor() throws Exception {
+
+        List<Aposta> apostas = List.of(aposta("aposta-2"), aposta("aposta-1"));
+        Mockito.when(apostaService.listar(null, null, null, null, null, null, 2)).thenReturn(apostas);
+
+        mockMvc.perform(get("/aposta").param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Proximo-Cursor", ApostaService.cursor(apostas.getLast())));
+    }
+
+    @Test
+    public void testUltimaPaginaNaoTemProximoCursor() throws Exception {
+
+        Mockito.when(apostaService.listar(null, null, null, null, null, null, 10)).thenReturn(List.of(aposta("aposta-1")));
+
+        mockMvc.perform(get("/aposta").param("tamanho", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Proximo-Cursor"));
+    }
+
+    @Test
+    public void testTamanhoAcimaDoMaximoComparaComOLimiteAjustado() throws Exception {
+
+        List<Aposta> apostas = new ArrayList<>();
+        for (int i = 0; i < ApostaService.TAMANHO_MAXIMO_PAGINA; i++) {
+            apostas.add(aposta("aposta-" + i));
+        }
+        Mockito.when(apostaService.listar(null, null, null, null, null, null, 1000)).thenReturn(apostas);
+
+        mockMvc.perform(get("/aposta").param("tamanho", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Proximo-Cursor"));
+    }
+
+    @Test
+    public void testTamanhoNegativoSemResultadoNaoTemProximoCursor() throws Exception {
+
+        Mockito.when(apostaService.listar(null, null, null, null, null, null, -1)).thenReturn(List.of());
+
+        mockMvc.perform(get("/aposta").param("tamanho", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Proximo-Cursor"));
+    }
+
+    @Test
+    public void testCursorMalformadoRetorna400() throws Exception {
+
+        Mockito.when(apostaService.listar(null, null, null, null, null, "xyz", 100))
+                .thenThrow(new CursorInvalidoException("Cursor invalido"));
+
+        mockMvc.perform(get("/aposta").param("cursor", "xyz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo").value(400));
+    }
+
+    private Aposta aposta(String id) {
+        Aposta aposta = new Aposta();
+        aposta.setId(id);
+        aposta.setDataAposta(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return aposta;
+    }
+}
@@ -1,5 +1,7 @@
 package br.insper.aposta.aposta;
 
+import br.insper.aposta.partida.PartidaReplicaService;
+import br.insper.aposta.partida.RetornarPartidaDTO;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
 import java.util.Optional;
 
@@ -19,6 +22,12 @@ public class ApostaServiceTests {
     @Mock
     ApostaRepository apostaRepository;
 
+    @Mock
+    PartidaReplicaService partidaReplicaService;
+
+    @Mock
+    MongoTemplate mongoTemplate;
+
     @Test
     public void testGetApostaWhenApostaIsNull() {
 
@@ -43,5 +52,77 @@ public class ApostaServiceTests {
 
     }
 
+    @Test
+    public void testSalvarApostaEmPartidaJaRealizadaApuraNaHora() {
+
+        RetornarPartidaDTO partida = new RetornarPartidaDTO();
+        partida.setStatus("REALIZADA");
+        partida.setPlacarMandante(1);
+        partida.setPlacarVisitante(1);
+        Mockito.when(partidaReplicaService.getPartida(1)).thenReturn(Optional.of(partida));
+        Mockito.when(apostaRepository.save(Mockito.any(Aposta.class))).thenAnswer(i -> i.getArgument(0));
+
+        Aposta aposta = new Aposta();
+        aposta.setIdPartida(1);
+        aposta.setResultado("EMPATE");
+
+        Assertions.assertEquals("GANHOU", apostaService.salvar(aposta).getStatus());
+    }
+
+    @Test
+    public void testSalvarApostaQuandoResultadoChegaDuranteOSave() {
+
+        // a replica ainda dizia AGENDADA, mas o evento foi gravado e apurado em lote antes do save
+        RetornarPartidaDTO agendada = new RetornarPartidaDTO();
+        agendada.setStatus("AGENDADA");
+        RetornarPartidaDTO realizada = new RetornarPartidaDTO();
+        realizada.setStatus("REALIZADA");
+        realizada.setPlacarMandante(0);
+        realizada.setPlacarVisitante(3);
+        Mockito.when(partidaReplicaService.getPartida(1)).thenReturn(Optional.of(agendada));
+        Mockito.when(partidaReplicaService.getPartidaLocal(1)).thenReturn(Optional.of(realizada));
+        Mockito.when(apostaRepository.save(Mockito.any(Aposta.class))).thenAnswer(i -> i.getArgument(0));
+
+        Aposta aposta = new Aposta();
+        aposta.setIdPartida(1);
+        aposta.setResultado("VITORIA_MANDANTE");
+
+        Assertions.assertEquals("PERDEU", apostaService.salvar(aposta).getStatus());
+        Mockito.verify(apostaRepository, Mockito.times(2)).save(aposta);
+    }
+
+    @Test
+    public void testSalvarApostaEmPartidaAgendadaFicaAberta() {
+
+        RetornarPartidaDTO agendada = new RetornarPartidaDTO();
+        agendada.setStatus("AGENDADA");
+        Mockito.when(partidaReplicaService.getPartida(1)).thenReturn(Optional.of(agendada));
+        Mockito.when(partidaReplicaService.getPartidaLocal(1)).thenReturn(Optional.of(agendada));
+        Mockito.when(apostaRepository.save(Mockito.any(Aposta.class))).thenAnswer(i -> i.getArgument(0));
+
+        Aposta aposta = new Aposta();
+        aposta.setIdPartida(1);
+        aposta.setResultado("EMPATE");
+
+        Assertions.assertEquals("REALIZADA", apostaService.salvar(aposta).getStatus());
+        Mockito.verify(apostaRepository, Mockito.times(1)).save(aposta);
+    }
+
+    @Test
+    public void testLimiteDaPaginaFicaEntreUmEOMaximo() {
+
+        Assertions.assertEquals(1, ApostaService.limite(0));
+        Assertions.assertEquals(1, ApostaService.limite(-5));
+        Assertions.assertEquals(37, ApostaService.limite(37));
+        Assertions.assertEquals(ApostaService.TAMANHO_MAXIMO_PAGINA, ApostaService.limite(1000));
+    }
+
+    @Test
+    public void testCursorMalformadoEInvalido() {
+
+        Assertions.assertThrows(CursorInvalidoException.class,
+                () -> apostaService.listar(null, null, null, null, null, "xyz", 10));
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
 
 }
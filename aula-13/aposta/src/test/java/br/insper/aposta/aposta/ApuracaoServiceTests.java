@@ -0,0 +1,84 @@
+package br.insper.aposta.aposta;
+
+import br.insper.contrato.partida.PartidaEvento;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class ApuracaoServiceTests {
+
+    @InjectMocks
+    private ApuracaoService apuracaoService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(apuracaoService, "meterRegistry", meterRegistry);
+        apuracaoService.registrarMetricas();
+    }
+
+    @Test
+    public void testApuraTodasAsApostasDaPartidaEmUmBulk() {
+
+        Mockito.when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Aposta.class))
+                .thenReturn(bulkOperations);
+        Mockito.when(bulkOperations.execute())
+                .thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 7, List.of(), List.of()));
+
+        apuracaoService.apurar(new PartidaEvento(1, "A", "B", 0, 2, "REALIZADA"));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        Mockito.verify(bulkOperations, Mockito.times(3)).updateMulti(queries.capture(), updates.capture());
+        Mockito.verify(bulkOperations).execute();
+
+        for (int i = 0; i < 3; i++) {
+            String resultado = queries.getAllValues().get(i).getQueryObject().getString("resultado");
+            String status = updates.getAllValues().get(i).getUpdateObject().get("$set", Document.class)
+                    .getString("status");
+            Assertions.assertEquals(1, queries.getAllValues().get(i).getQueryObject().getInteger("idPartida"));
+            Assertions.assertEquals("VITORIA_VISITANTE".equals(resultado) ? "GANHOU" : "PERDEU", status);
+        }
+        Assertions.assertEquals(7, meterRegistry.get("apostas.apuradas").counter().count());
+    }
+
+    @Test
+    public void testIgnoraPartidaNaoRealizada() {
+
+        apuracaoService.apurar(new PartidaEvento(1, "A", "B", null, null, "AGENDADA"));
+
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testResultado() {
+
+        Assertions.assertEquals("EMPATE", ApuracaoService.resultado(200, 200));
+        Assertions.assertEquals("VITORIA_MANDANTE", ApuracaoService.resultado(2, 1));
+        Assertions.assertEquals("VITORIA_VISITANTE", ApuracaoService.resultado(0, 1));
+    }
+}
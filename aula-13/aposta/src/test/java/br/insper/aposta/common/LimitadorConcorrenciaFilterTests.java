@@ -0,0 +1,125 @@
+package br.insper.aposta.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class LimitadorConcorrenciaFilterTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LimitadorConcorrenciaFilter filter;
+
+    private LimitadorConcorrencia limitador;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testAcimaDoLimiteRespondeServicoIndisponivel() throws Exception {
+
+        criarFilter(1);
+        // ocupa a unica vaga
+        Assertions.assertTrue(limitador.adquirir());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/aposta"), response, chain);
+
+        Assertions.assertEquals(503, response.getStatus());
+        Assertions.assertEquals("2", response.getHeader("Retry-After"));
+        Assertions.assertNull(chain.getRequest());
+        Assertions.assertEquals(1, meterRegistry.get("limitador.rejeitadas").counter().count());
+    }
+
+    @Test
+    public void testDentroDoLimiteSegueELiberaAVaga() throws Exception {
+
+        criarFilter(1);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/aposta"), response, chain);
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertNotNull(chain.getRequest());
+        Assertions.assertEquals(0, limitador.getEmAndamento());
+    }
+
+    @Test
+    public void testLeiturasNaoPassamPeloLimitador() throws Exception {
+
+        criarFilter(1);
+        Assertions.assertTrue(limitador.adquirir());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/aposta"), response, chain);
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    public void testRodaDepoisDaAutenticacao() {
+
+        Order ordem = AnnotationUtils.findAnnotation(LimitadorConcorrenciaFilter.class, Order.class);
+
+        Assertions.assertTrue(ordem.value() > SecurityProperties.DEFAULT_FILTER_ORDER);
+    }
+
+    @Test
+    public void testRecusadaPelaAutorizacaoNaoEntraNasAmostras() throws Exception {
+
+        criarFilter(10);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/aposta"), new MockHttpServletResponse(),
+                new MockFilterChain(new RespostaComStatus(HttpServletResponse.SC_FORBIDDEN)));
+
+        Assertions.assertEquals(10, limitador.getLimite());
+        Assertions.assertEquals(0, limitador.getEmAndamento());
+
+        // um 5xx, ao contrario, reduz o limite
+        filter.doFilter(new MockHttpServletRequest("POST", "/aposta"), new MockHttpServletResponse(),
+                new MockFilterChain(new RespostaComStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR)));
+
+        Assertions.assertEquals(9, limitador.getLimite());
+    }
+
+    private void criarFilter(int limiteInicial) {
+        filter = new LimitadorConcorrenciaFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "limiteInicial", limiteInicial);
+        ReflectionTestUtils.setField(filter, "limiteMinimo", 1);
+        ReflectionTestUtils.setField(filter, "retryAfter", 2);
+        filter.iniciar();
+        limitador = (LimitadorConcorrencia) ReflectionTestUtils.getField(filter, "limitador");
+    }
+
+    private static class RespostaComStatus extends HttpServlet {
+
+        private final int status;
+
+        RespostaComStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setStatus(status);
+        }
+    }
+}
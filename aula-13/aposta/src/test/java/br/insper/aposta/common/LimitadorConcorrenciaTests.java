@@ -0,0 +1,68 @@
+package br.insper.aposta.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LimitadorConcorrenciaTests {
+
+    @Test
+    public void testRecusaAcimaDoLimite() {
+
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(2, 1, 10);
+
+        Assertions.assertTrue(limitador.adquirir());
+        Assertions.assertTrue(limitador.adquirir());
+        Assertions.assertFalse(limitador.adquirir());
+
+        limitador.liberar(TimeUnit.MILLISECONDS.toNanos(10), false);
+        Assertions.assertTrue(limitador.adquirir());
+    }
+
+    @Test
+    public void testLatenciaEstavelAumentaLimite() {
+
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(10, 1, 100);
+
+        rodadas(limitador, 20, 10);
+
+        Assertions.assertTrue(limitador.getLimite() > 10);
+    }
+
+    @Test
+    public void testLatenciaCrescenteReduzLimite() {
+
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(10, 1, 100);
+        rodadas(limitador, 20, 10);
+        int antes = limitador.getLimite();
+
+        rodadas(limitador, 5, 100);
+
+        Assertions.assertTrue(limitador.getLimite() < antes);
+    }
+
+    @Test
+    public void testErroReduzLimite() {
+
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(50, 1, 100);
+
+        limitador.adquirir();
+        limitador.liberar(TimeUnit.MILLISECONDS.toNanos(10), true);
+
+        Assertions.assertEquals(45, limitador.getLimite());
+    }
+
+    // ocupa todo o limite e libera tudo com a mesma latencia
+    private void rodadas(LimitadorConcorrencia limitador, int quantidade, long latenciaMs) {
+        for (int i = 0; i < quantidade; i++) {
+            int adquiridas = 0;
+            while (limitador.adquirir()) {
+                adquiridas++;
+            }
+            for (int j = 0; j < adquiridas; j++) {
+                limitador.liberar(TimeUnit.MILLISECONDS.toNanos(latenciaMs), false);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package br.insper.aposta.partida;
+
+import br.insper.contrato.partida.PartidaEvento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class PartidaReplicaServiceTests {
+
+    @InjectMocks
+    private PartidaReplicaService partidaReplicaService;
+
+    @Mock
+    private PartidaLocalRepository partidaLocalRepository;
+
+    @Mock
+    private PartidaService partidaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(partidaReplicaService, "meterRegistry", new SimpleMeterRegistry());
+        partidaReplicaService.iniciar();
+    }
+
+    @Test
+    public void testPartidaRealizadaPeloTopicoNaoConsultaCampeonato() {
+
+        PartidaEvento evento = new PartidaEvento(1, "A", "B", 2, 1, "REALIZADA");
+        partidaReplicaService.atualizar(evento);
+
+        Optional<RetornarPartidaDTO> partida = partidaReplicaService.getPartida(1);
+
+        Assertions.assertTrue(partida.isPresent());
+        Assertions.assertTrue(partida.get().isVitoriaMandante());
+        // a apuracao so pode rodar depois que a copia local ja diz REALIZADA
+        InOrder ordem = Mockito.inOrder(mongoTemplate, eventPublisher);
+        ordem.verify(mongoTemplate).upsert(Mockito.any(Query.class), Mockito.any(Update.class), Mockito.eq(PartidaLocal.class));
+        ordem.verify(eventPublisher).publishEvent(evento);
+        Mockito.verify(partidaLocalRepository, Mockito.never()).findById(1);
+        Mockito.verifyNoInteractions(partidaService);
+    }
+
+    @Test
+    public void testEventoComVersaoSoSobrescreveCopiaMaisAntiga() {
+
+        PartidaEvento evento = new PartidaEvento(1, "A", "B", 2, 1, "REALIZADA");
+        evento.setVersao(3L);
+
+        partidaReplicaService.atualizar(evento);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(mongoTemplate).upsert(query.capture(), Mockito.any(Update.class), Mockito.eq(PartidaLocal.class));
+        Assertions.assertEquals(new Document("$not", new Document("$gt", 3L)),
+                query.getValue().getQueryObject().get("versao"));
+    }
+
+    @Test
+    public void testEventoAtrasadoEDescartado() {
+
+        // uma versao mais nova ja foi gravada: o upsert nao encontra a partida e tenta inserir o mesmo id
+        Mockito.when(mongoTemplate.upsert(Mockito.any(Query.class), Mockito.any(Update.class), Mockito.eq(PartidaLocal.class)))
+                .thenThrow(new DuplicateKeyException("partida 1"));
+        PartidaEvento atrasado = new PartidaEvento(1, "A", "B", null, null, "AGENDADA");
+        atrasado.setVersao(1L);
+
+        partidaReplicaService.atualizar(atrasado);
+
+        Mockito.verifyNoInteractions(eventPublisher);
+        PartidaLocal local = new PartidaLocal();
+        local.setId(1);
+        local.setStatus("REALIZADA");
+        Mockito.when(partidaLocalRepository.findById(1)).thenReturn(Optional.of(local));
+        Assertions.assertEquals("REALIZADA", partidaReplicaService.getPartida(1).get().getStatus());
+    }
+
+    @Test
+    public void testPlacarCorrigidoEmOutraInstanciaExpiraDaMemoria() {
+
+        ReflectionTestUtils.setField(partidaReplicaService, "expiracaoMemoria", Duration.ZERO);
+        partidaReplicaService.iniciar();
+        partidaReplicaService.atualizar(new PartidaEvento(1, "A", "B", 2, 1, "REALIZADA"));
+
+        // outra instancia consumiu a correcao e gravou no Mongo
+        PartidaLocal corrigida = new PartidaLocal();
+        corrigida.setId(1);
+        corrigida.setPlacarMandante(2);
+        corrigida.setPlacarVisitante(2);
+        corrigida.setStatus("REALIZADA");
+        Mockito.when(partidaLocalRepository.findById(1)).thenReturn(Optional.of(corrigida));
+
+        Assertions.assertTrue(partidaReplicaService.getPartida(1).get().isEmpate());
+    }
+
+    @Test
+    public void testPartidaAgendadaLidaDoMongo() {
+
+        PartidaLocal local = new PartidaLocal();
+        local.setId(2);
+        local.setStatus("AGENDADA");
+        Mockito.when(partidaLocalRepository.findById(2)).thenReturn(Optional.of(local));
+
+        Optional<RetornarPartidaDTO> partida = partidaReplicaService.getPartida(2);
+
+        Assertions.assertEquals("AGENDADA", partida.get().getStatus());
+        Mockito.verifyNoInteractions(partidaService);
+    }
+
+    @Test
+    public void testPartidaDesconhecidaBuscaNoCampeonatoECopia() {
+
+        RetornarPartidaDTO dto = new RetornarPartidaDTO();
+        dto.setId(3);
+        dto.setStatus("AGENDADA");
+        Mockito.when(partidaLocalRepository.findById(3)).thenReturn(Optional.empty());
+        Mockito.when(partidaService.getPartida(3)).thenReturn(Optional.of(dto));
+        Mockito.when(partidaLocalRepository.insert(Mockito.any(PartidaLocal.class)))
+                .thenThrow(new DuplicateKeyException("partida 3"));
+
+        Optional<RetornarPartidaDTO> partida = partidaReplicaService.getPartida(3);
+
+        Assertions.assertEquals(3, partida.get().getId());
+        Mockito.verify(partidaLocalRepository, Mockito.never()).save(Mockito.any(PartidaLocal.class));
+    }
+
+    @Test
+    public void testPartidaInexistenteNoCampeonato() {
+
+        Mockito.when(partidaLocalRepository.findById(4)).thenReturn(Optional.empty());
+        Mockito.when(partidaService.getPartida(4)).thenReturn(Optional.empty());
+
+        Assertions.assertTrue(partidaReplicaService.getPartida(4).isEmpty());
+        Mockito.verify(partidaLocalRepository, Mockito.never()).insert(Mockito.any(PartidaLocal.class));
+    }
+}
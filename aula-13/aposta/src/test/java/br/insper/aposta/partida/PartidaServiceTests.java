@@ -0,0 +1,110 @@
+package br.insper.aposta.partida;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class PartidaServiceTests {
+
+    private PartidaService partidaService;
+
+    private MockRestServiceServer server;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://campeonato");
+        server = MockRestServiceServer.bindTo(builder).build();
+        meterRegistry = new SimpleMeterRegistry();
+
+        partidaService = new PartidaService();
+        ReflectionTestUtils.setField(partidaService, "campeonatoRestClient", builder.build());
+        ReflectionTestUtils.setField(partidaService, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void testGetPartida() {
+
+        partidaService.iniciar();
+        server.expect(requestTo("http://campeonato/partida?ids=1")).andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{\"id\":1,\"nomeMandante\":\"A\",\"nomeVisitante\":\"B\",\"placarMandante\":1,"
+                        + "\"placarVisitante\":0,\"status\":\"REALIZADA\"}]", MediaType.APPLICATION_JSON));
+
+        Optional<RetornarPartidaDTO> partida = partidaService.getPartida(1);
+
+        Assertions.assertTrue(partida.get().isVitoriaMandante());
+        server.verify();
+    }
+
+    @Test
+    public void testPartidaInexistenteFicaForaDaResposta() {
+
+        partidaService.iniciar();
+        server.expect(requestTo("http://campeonato/partida?ids=9"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        Assertions.assertTrue(partidaService.getPartida(9).isEmpty());
+    }
+
+    @Test
+    public void testConsultasSimultaneasViramUmaChamada() throws Exception {
+
+        ReflectionTestUtils.setField(partidaService, "janela", Duration.ofMillis(300));
+        partidaService.iniciar();
+        server.expect(requestTo(startsWith("http://campeonato/partida?ids=")))
+                .andRespond(withSuccess("[{\"id\":1,\"status\":\"AGENDADA\"},{\"id\":2,\"status\":\"AGENDADA\"}]",
+                        MediaType.APPLICATION_JSON));
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<Optional<RetornarPartidaDTO>>> consultas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int id = i % 2 + 1;
+            consultas.add(executor.submit(() -> {
+                largada.await();
+                return partidaService.getPartida(id);
+            }));
+        }
+        largada.countDown();
+
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertEquals(i % 2 + 1, consultas.get(i).get().get().getId());
+        }
+        executor.shutdown();
+        server.verify();
+        Assertions.assertEquals(4, meterRegistry.get("campeonato.coalescidas").counter().count());
+        Assertions.assertEquals(2, meterRegistry.get("campeonato.lote.tamanho").summary().totalAmount());
+    }
+
+    @Test
+    public void testBulkheadCheioRecusaSemChamarCampeonato() {
+
+        ReflectionTestUtils.setField(partidaService, "maxChamadas", 0);
+        partidaService.iniciar();
+
+        Assertions.assertThrows(CampeonatoIndisponivelException.class, () -> partidaService.getPartida(1));
+        Assertions.assertEquals(1, meterRegistry.get("campeonato.bulkhead.rejeitadas").counter().count());
+        server.verify();
+    }
+}
@@ -0,0 +1,14 @@
+package br.insper.loja.common;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String TIMES = "times";
+
+    public static final String TIMES_POR_ESTADO = "times-estado";
+
+}
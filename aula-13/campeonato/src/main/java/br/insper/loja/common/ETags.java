@@ -0,0 +1,40 @@
+package br.insper.loja.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * ETags fortes derivadas da coluna @Version. Um recurso muda de ETag sempre que a versao muda;
+ * uma colecao muda quando entra, sai ou muda de versao qualquer um dos seus itens.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String deRecurso(Object id, long versao) {
+        return "\"" + id + "-" + versao + "\"";
+    }
+
+    public static <T> String deColecao(List<T> itens, Function<T, Object> id, ToLongFunction<T> versao) {
+        MessageDigest digest = getDigest();
+        for (T item : itens) {
+            digest.update((id.apply(item) + ":" + versao.applyAsLong(item) + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] hash = digest.digest();
+        return "\"" + itens.size() + "-" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
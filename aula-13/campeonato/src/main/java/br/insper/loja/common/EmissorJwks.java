@@ -0,0 +1,94 @@
+package br.insper.loja.common;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.ResourceRetriever;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Chaves publicas de um emissor confiavel. Podem vir de um arquivo JWKS local, o que permite
+ * subir a aplicacao sem acessar o emissor, e sao atualizadas a partir do jwks_uri do emissor.
+ * Cada atualizacao bem sucedida regrava o arquivo para a proxima inicializacao.
+ */
+public class EmissorJwks implements JWKSource<SecurityContext> {
+
+    private static final Log logger = LogFactory.getLog(EmissorJwks.class);
+
+    private static final long INTERVALO_MINIMO_ATUALIZACAO = 30_000;
+
+    private final String emissor;
+
+    private final Path arquivo;
+
+    private final ResourceRetriever retriever = new DefaultResourceRetriever(2000, 2000, 512 * 1024);
+
+    private volatile JWKSet jwkSet = new JWKSet();
+
+    private volatile long ultimaTentativa;
+
+    public EmissorJwks(String emissor, Path arquivo) {
+        this.emissor = emissor;
+        this.arquivo = arquivo;
+    }
+
+    public boolean carregarArquivo() {
+        if (arquivo == null || !Files.exists(arquivo)) {
+            return false;
+        }
+        try {
+            jwkSet = JWKSet.load(arquivo.toFile());
+            return !jwkSet.getKeys().isEmpty();
+        } catch (Exception e) {
+            logger.warn("Nao foi possivel ler o JWKS de " + arquivo + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized boolean atualizar() {
+        ultimaTentativa = System.currentTimeMillis();
+        try {
+            String configuracao = retriever.retrieveResource(
+                    URI.create(emissor + "/.well-known/openid-configuration").toURL()).getContent();
+            String jwksUri = JSONObjectUtils.getString(JSONObjectUtils.parse(configuracao), "jwks_uri");
+
+            JWKSet novo = JWKSet.parse(retriever.retrieveResource(URI.create(jwksUri).toURL()).getContent());
+            jwkSet = novo;
+
+            if (arquivo != null) {
+                Files.createDirectories(arquivo.toAbsolutePath().getParent());
+                Files.writeString(arquivo, novo.toString(true));
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("Nao foi possivel atualizar as chaves de " + emissor + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean isCarregado() {
+        return !jwkSet.getKeys().isEmpty();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        List<JWK> chaves = jwkSelector.select(jwkSet);
+        // chave desconhecida: o emissor pode ter rotacionado as chaves desde a ultima atualizacao
+        if (chaves.isEmpty() && System.currentTimeMillis() - ultimaTentativa > INTERVALO_MINIMO_ATUALIZACAO) {
+            atualizar();
+            chaves = jwkSelector.select(jwkSet);
+        }
+        return chaves;
+    }
+}
@@ -1,35 +1,61 @@
 package br.insper.loja.common;
 
-import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.contrato.partida.PartidaEventoSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.core.ProducerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
 public class KafkaProducerConfig {
 
+    @Autowired
+    private KafkaProperties kafkaProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
-    public ProducerFactory<String, RetornarPartidaDTO> producerFactory() {
-        Map<String, Object> config = new HashMap<>();
+    public ProducerFactory<String, PartidaEvento> producerFactory() {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
 
-        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, PartidaEventoSerializer.class);
 
-        return new DefaultKafkaProducerFactory<>(config);
+        DefaultKafkaProducerFactory<String, PartidaEvento> factory = new DefaultKafkaProducerFactory<>(config);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, RetornarPartidaDTO> kafkaTemplate() {
+    public KafkaTemplate<String, PartidaEvento> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    @Bean
+    public ProducerFactory<String, String> invalidacaoProducerFactory() {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+
+        DefaultKafkaProducerFactory<String, String> factory = new DefaultKafkaProducerFactory<>(config);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> invalidacaoKafkaTemplate() {
+        return new KafkaTemplate<>(invalidacaoProducerFactory());
+    }
 }
@@ -0,0 +1,97 @@
+package br.insper.loja.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Aplica o LimitadorConcorrencia as escritas (POST). Acima do limite a requisicao e recusada na
+ * hora com 503 e Retry-After, antes de ocupar conexoes com o banco ou chamadas remotas. Roda
+ * depois da cadeia do Spring Security, para que requisicoes sem token nao ocupem vagas nem entrem
+ * nas amostras de latencia.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class LimitadorConcorrenciaFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${limitador.limite-inicial:20}")
+    private int limiteInicial = 20;
+
+    @Value("${limitador.limite-minimo:4}")
+    private int limiteMinimo = 4;
+
+    @Value("${limitador.limite-maximo:200}")
+    private int limiteMaximo = 200;
+
+    @Value("${limitador.retry-after:1}")
+    private int retryAfter = 1;
+
+    private LimitadorConcorrencia limitador;
+
+    private Counter rejeitadas;
+
+    @PostConstruct
+    public void iniciar() {
+        limitador = new LimitadorConcorrencia(limiteInicial, limiteMinimo, limiteMaximo);
+
+        Gauge.builder("limitador.limite", limitador, LimitadorConcorrencia::getLimite)
+                .description("Limite atual de escritas simultaneas")
+                .register(meterRegistry);
+        Gauge.builder("limitador.em-andamento", limitador, LimitadorConcorrencia::getEmAndamento)
+                .description("Escritas em andamento")
+                .register(meterRegistry);
+        rejeitadas = Counter.builder("limitador.rejeitadas")
+                .description("Escritas recusadas com 503 por excesso de concorrencia")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limitador.adquirir()) {
+            rejeitadas.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"mensagem\":\"Servico sobrecarregado\",\"codigo\":503}");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            if (status == HttpServletResponse.SC_UNAUTHORIZED || status == HttpServletResponse.SC_FORBIDDEN) {
+                // recusada pela autorizacao: o tempo dela nao diz nada sobre a capacidade do servico
+                limitador.descartar();
+            } else {
+                limitador.liberar(System.nanoTime() - inicio, status >= 500);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.insper.loja.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("campeonato.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // consulta que devolve o atraso da replica em segundos, ex.:
+    // select extract(epoch from now() - pg_last_xact_replay_timestamp())
+    private String consultaAtraso;
+
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,110 @@
+package br.insper.loja.common;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARIO = "primario";
+
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+    private final String consultaAtraso;
+
+    private final Duration atrasoMaximo;
+
+    private final AtomicInteger contador = new AtomicInteger();
+
+    private volatile List<String> replicasDisponiveis;
+
+    public ReplicaRoutingDataSource(DataSource primario, List<DataSource> replicas,
+                                    String consultaAtraso, Duration atrasoMaximo) {
+        this.consultaAtraso = consultaAtraso;
+        this.atrasoMaximo = atrasoMaximo;
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+            destinos.put("replica-" + i, replicas.get(i));
+        }
+        this.replicasDisponiveis = new ArrayList<>(this.replicas.keySet());
+
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARIO;
+        }
+        List<String> disponiveis = replicasDisponiveis;
+        if (disponiveis.isEmpty()) {
+            return PRIMARIO;
+        }
+        return disponiveis.get(Math.floorMod(contador.getAndIncrement(), disponiveis.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${campeonato.datasource.intervalo-verificacao:5000}")
+    public void verificarReplicas() {
+        List<String> disponiveis = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            if (isReplicaDisponivel(replica.getValue())) {
+                disponiveis.add(replica.getKey());
+            }
+        }
+        replicasDisponiveis = disponiveis;
+    }
+
+    public List<String> getReplicasDisponiveis() {
+        return replicasDisponiveis;
+    }
+
+    private boolean isReplicaDisponivel(DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (consultaAtraso == null || consultaAtraso.isBlank()) {
+                return connection.isValid(1);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(consultaAtraso)) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                double atraso = resultSet.getDouble(1);
+                return !resultSet.wasNull() && atraso * 1000 <= atrasoMaximo.toMillis();
+            }
+        } catch (Exception e) {
+            logger.warn("Replica indisponivel: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (getResolvedDefaultDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.insper.loja.common;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * A partida passou de IDENTITY para uma sequencia com allocationSize 50. O ddl-auto cria a sequencia
+ * comecando em 1 mesmo quando a tabela ja tem linhas, entao antes de aceitar requisicoes a sequencia
+ * e reiniciada acima do maior id existente.
+ */
+@Component
+public class SequenciasInitializer implements SmartInitializingSingleton {
+
+    // sequencia -> tabela; o otimizador pooled usa os ids (valor - 49 .. valor)
+    static final Map<String, String> SEQUENCIAS = Map.of("partida_seq", "partida");
+
+    static final int ALOCACAO = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCIAS.forEach(this::ajustar);
+    }
+
+    void ajustar(String sequencia, String tabela) {
+        Long maximo = jdbcTemplate.queryForObject("select max(id) from " + tabela, Long.class);
+        if (maximo == null) {
+            return;
+        }
+        Long proximo = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = ?",
+                Long.class, sequencia.toUpperCase());
+
+        long minimo = maximo + ALOCACAO;
+        if (proximo == null || proximo < minimo) {
+            jdbcTemplate.execute("alter sequence " + sequencia + " restart with " + minimo);
+        }
+    }
+}
@@ -3,19 +3,33 @@ package br.insper.loja.common;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTParser;
 import lombok.SneakyThrows;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 public class TokenUtils {
 
     @SneakyThrows
     public static String getEmailFromToken(String token) {
+        Jwt verificado = getTokenVerificado(token);
+        if (verificado != null) {
+            return verificado.getClaimAsString("email");
+        }
         JWT jwt = JWTParser.parse(token.split(" ")[1]);
         return (String) jwt.getJWTClaimsSet().getClaim("email");
     }
 
     @SneakyThrows
     public static String getIss(String token) {
-        JWT jwt = JWTParser.parse(token.split(" ")[1]);
-        String iss = (String) jwt.getJWTClaimsSet().getClaim("iss");
+        Jwt verificado = getTokenVerificado(token);
+        String iss;
+        if (verificado != null) {
+            iss = verificado.getClaimAsString("iss");
+        } else {
+            JWT jwt = JWTParser.parse(token.split(" ")[1]);
+            iss = (String) jwt.getJWTClaimsSet().getClaim("iss");
+        }
         return iss.substring(iss.lastIndexOf('/') + 1);
     }
 
@@ -31,4 +45,14 @@ public class TokenUtils {
         }
         return token;
     }
+
+    // o filtro do resource server ja verificou o token desta requisicao; reaproveita as claims
+    private static Jwt getTokenVerificado(String token) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication
+                && jwtAuthentication.getToken().getTokenValue().equals(removeBearerPrefix(token))) {
+            return jwtAuthentication.getToken();
+        }
+        return null;
+    }
 }
@@ -1,5 +1,6 @@
 package br.insper.loja.common;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,11 +12,12 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.util.Arrays;
-
 @Configuration
 public class WebSecurityConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private EmissoresJwt emissoresJwt;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**").allowedMethods("*");
@@ -24,12 +26,15 @@ public class WebSecurityConfig implements WebMvcConfigurer {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        JwtIssuerAuthenticationManagerResolver authenticationManagerResolver = JwtIssuerAuthenticationManagerResolver
-                .fromTrustedIssuers(Arrays.asList("https://zambom.botcity.dev:8050/realms/teste"));
+        JwtIssuerAuthenticationManagerResolver authenticationManagerResolver =
+                new JwtIssuerAuthenticationManagerResolver(emissoresJwt::getAuthenticationManager);
 
         http
                 .authorizeHttpRequests(authorize ->
                         authorize   
+                                // o actuator so responde na management.server.port, que fica fora do
+                                // balanceador; la as probes e o scrape do Prometheus nao levam token
+                                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -38,5 +43,4 @@ public class WebSecurityConfig implements WebMvcConfigurer {
         return http.build();
     }
 
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package br.insper.loja.evento.controller;
+
+import br.insper.loja.evento.dto.RegistrarEventoDTO;
+import br.insper.loja.evento.model.EstadoPartida;
+import br.insper.loja.evento.model.EventoPartida;
+import br.insper.loja.evento.service.EventoPartidaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+public class EventoPartidaController {
+
+    @Autowired
+    private EventoPartidaService eventoPartidaService;
+
+    @PostMapping("/partida/{id}/eventos")
+    @ResponseStatus(HttpStatus.CREATED)
+    public EstadoPartida registrarEvento(@PathVariable Integer id, @RequestBody RegistrarEventoDTO evento) {
+        return eventoPartidaService.registrarEvento(id, evento);
+    }
+
+    @GetMapping("/partida/{id}/eventos")
+    public List<EventoPartida> listarEventos(@PathVariable Integer id, @RequestParam(defaultValue = "0") long apos) {
+        return eventoPartidaService.listarEventos(id, apos);
+    }
+
+    @GetMapping("/partida/{id}/estado")
+    public EstadoPartida getEstado(@PathVariable Integer id) {
+        return eventoPartidaService.getEstado(id);
+    }
+
+}
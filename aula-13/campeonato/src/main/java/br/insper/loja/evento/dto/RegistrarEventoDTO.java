@@ -0,0 +1,46 @@
+package br.insper.loja.evento.dto;
+
+import br.insper.loja.evento.model.Lado;
+import br.insper.loja.evento.model.TipoEvento;
+
+public class RegistrarEventoDTO {
+    private TipoEvento tipo;
+
+    private Lado lado;
+
+    private Integer minuto;
+
+    private String jogador;
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEvento tipo) {
+        this.tipo = tipo;
+    }
+
+    public Lado getLado() {
+        return lado;
+    }
+
+    public void setLado(Lado lado) {
+        this.lado = lado;
+    }
+
+    public Integer getMinuto() {
+        return minuto;
+    }
+
+    public void setMinuto(Integer minuto) {
+        this.minuto = minuto;
+    }
+
+    public String getJogador() {
+        return jogador;
+    }
+
+    public void setJogador(String jogador) {
+        this.jogador = jogador;
+    }
+}
@@ -0,0 +1,81 @@
+package br.insper.loja.evento.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de uma partida derivado do ultimo snapshot mais os eventos posteriores a ele.
+ */
+@Getter
+public class EstadoPartida {
+
+    private Integer partidaId;
+
+    private long sequencia;
+
+    private int placarMandante;
+
+    private int placarVisitante;
+
+    private int amarelosMandante;
+
+    private int amarelosVisitante;
+
+    private int vermelhosMandante;
+
+    private int vermelhosVisitante;
+
+    private String status = "AGENDADA";
+
+    public EstadoPartida(Integer partidaId) {
+        this.partidaId = partidaId;
+    }
+
+    public static EstadoPartida deSnapshot(SnapshotPartida snapshot) {
+        EstadoPartida estado = new EstadoPartida(snapshot.getPartidaId());
+        estado.sequencia = snapshot.getSequencia();
+        estado.placarMandante = snapshot.getPlacarMandante();
+        estado.placarVisitante = snapshot.getPlacarVisitante();
+        estado.amarelosMandante = snapshot.getAmarelosMandante();
+        estado.amarelosVisitante = snapshot.getAmarelosVisitante();
+        estado.vermelhosMandante = snapshot.getVermelhosMandante();
+        estado.vermelhosVisitante = snapshot.getVermelhosVisitante();
+        estado.status = snapshot.getStatus();
+        return estado;
+    }
+
+    public void aplicar(EventoPartida evento) {
+        boolean mandante = evento.getLado() == Lado.MANDANTE;
+        switch (evento.getTipo()) {
+            case INICIO, REINICIO -> status = "EM_ANDAMENTO";
+            case INTERVALO -> status = "INTERVALO";
+            case FIM -> status = "REALIZADA";
+            case GOL -> {
+                if (mandante) placarMandante++; else placarVisitante++;
+            }
+            case CARTAO_AMARELO -> {
+                if (mandante) amarelosMandante++; else amarelosVisitante++;
+            }
+            case CARTAO_VERMELHO -> {
+                if (mandante) vermelhosMandante++; else vermelhosVisitante++;
+            }
+        }
+        sequencia = evento.getSequencia();
+    }
+
+    public SnapshotPartida toSnapshot() {
+        SnapshotPartida snapshot = new SnapshotPartida();
+        snapshot.setPartidaId(partidaId);
+        snapshot.setSequencia(sequencia);
+        snapshot.setPlacarMandante(placarMandante);
+        snapshot.setPlacarVisitante(placarVisitante);
+        snapshot.setAmarelosMandante(amarelosMandante);
+        snapshot.setAmarelosVisitante(amarelosVisitante);
+        snapshot.setVermelhosMandante(vermelhosMandante);
+        snapshot.setVermelhosVisitante(vermelhosVisitante);
+        snapshot.setStatus(status);
+        snapshot.setDataCriacao(LocalDateTime.now());
+        return snapshot;
+    }
+}
@@ -0,0 +1,43 @@
+package br.insper.loja.evento.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro imutavel de um lance da partida. A sequencia e unica por partida, o que serializa
+ * escritas concorrentes sem bloquear a linha da partida.
+ */
+@Entity
+@Getter
+@Setter
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_evento_partida_sequencia",
+        columnNames = {"partida_id", "sequencia"}))
+public class EventoPartida {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_partida_seq")
+    @SequenceGenerator(name = "evento_partida_seq", sequenceName = "evento_partida_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "partida_id", nullable = false)
+    private Integer partidaId;
+
+    @Column(nullable = false)
+    private long sequencia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEvento tipo;
+
+    @Enumerated(EnumType.STRING)
+    private Lado lado;
+
+    private Integer minuto;
+
+    private String jogador;
+
+    private LocalDateTime dataCriacao;
+
+}
@@ -0,0 +1,6 @@
+package br.insper.loja.evento.model;
+
+public enum Lado {
+    MANDANTE,
+    VISITANTE
+}
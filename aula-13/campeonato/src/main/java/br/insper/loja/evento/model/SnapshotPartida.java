@@ -0,0 +1,40 @@
+package br.insper.loja.evento.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(indexes = @Index(name = "idx_snapshot_partida", columnList = "partida_id, sequencia"))
+public class SnapshotPartida {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "snapshot_partida_seq")
+    @SequenceGenerator(name = "snapshot_partida_seq", sequenceName = "snapshot_partida_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "partida_id", nullable = false)
+    private Integer partidaId;
+
+    private long sequencia;
+
+    private int placarMandante;
+
+    private int placarVisitante;
+
+    private int amarelosMandante;
+
+    private int amarelosVisitante;
+
+    private int vermelhosMandante;
+
+    private int vermelhosVisitante;
+
+    private String status;
+
+    private LocalDateTime dataCriacao;
+
+}
@@ -0,0 +1,11 @@
+package br.insper.loja.evento.model;
+
+public enum TipoEvento {
+    INICIO,
+    GOL,
+    CARTAO_AMARELO,
+    CARTAO_VERMELHO,
+    INTERVALO,
+    REINICIO,
+    FIM
+}
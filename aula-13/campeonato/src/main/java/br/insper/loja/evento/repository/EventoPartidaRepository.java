@@ -0,0 +1,12 @@
+package br.insper.loja.evento.repository;
+
+import br.insper.loja.evento.model.EventoPartida;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EventoPartidaRepository extends JpaRepository<EventoPartida, Long> {
+
+    List<EventoPartida> findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(Integer partidaId, long sequencia);
+
+}
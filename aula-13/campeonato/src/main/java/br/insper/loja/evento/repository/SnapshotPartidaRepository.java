@@ -0,0 +1,12 @@
+package br.insper.loja.evento.repository;
+
+import br.insper.loja.evento.model.SnapshotPartida;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface SnapshotPartidaRepository extends JpaRepository<SnapshotPartida, Long> {
+
+    Optional<SnapshotPartida> findFirstByPartidaIdOrderBySequenciaDesc(Integer partidaId);
+
+}
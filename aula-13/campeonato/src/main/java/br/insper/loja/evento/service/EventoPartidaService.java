@@ -0,0 +1,127 @@
+package br.insper.loja.evento.service;
+
+import br.insper.loja.evento.dto.RegistrarEventoDTO;
+import br.insper.loja.evento.model.EstadoPartida;
+import br.insper.loja.evento.model.EventoPartida;
+import br.insper.loja.evento.model.TipoEvento;
+import br.insper.loja.evento.repository.EventoPartidaRepository;
+import br.insper.loja.evento.repository.SnapshotPartidaRepository;
+import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.exception.PartidaEncerradaException;
+import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.partida.service.PartidaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class EventoPartidaService {
+
+    public static final int TENTATIVAS = 5;
+
+    @Autowired
+    private EventoPartidaRepository eventoPartidaRepository;
+
+    @Autowired
+    private SnapshotPartidaRepository snapshotPartidaRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${campeonato.eventos.intervalo-snapshot:50}")
+    private int intervaloSnapshot = 50;
+
+    public EstadoPartida registrarEvento(Integer partidaId, RegistrarEventoDTO dto) {
+        if (dto.getTipo() == null || (dto.getLado() == null && precisaLado(dto.getTipo()))) {
+            throw new RuntimeException("Dados invalidos");
+        }
+
+        // dois lances simultaneos disputam a mesma sequencia; quem perde relê o estado e tenta de novo
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> anexar(partidaId, dto));
+            } catch (DataIntegrityViolationException e) {
+                if (tentativa >= TENTATIVAS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private EstadoPartida anexar(Integer partidaId, RegistrarEventoDTO dto) {
+        Partida partida = partidaRepository.findById(partidaId)
+                .orElseThrow(() -> new PartidaNaoEncontradaException("Partida não encontrada"));
+        EstadoPartida estado = carregarEstado(partidaId);
+        // a partida tambem pode ter sido encerrada por POST /partida/{id}, sem evento FIM no log
+        if ("REALIZADA".equals(partida.getStatus()) || "REALIZADA".equals(estado.getStatus())) {
+            throw new PartidaEncerradaException("Partida encerrada");
+        }
+
+        EventoPartida evento = new EventoPartida();
+        evento.setPartidaId(partidaId);
+        evento.setSequencia(estado.getSequencia() + 1);
+        evento.setTipo(dto.getTipo());
+        evento.setLado(dto.getLado());
+        evento.setMinuto(dto.getMinuto());
+        evento.setJogador(dto.getJogador());
+        evento.setDataCriacao(LocalDateTime.now());
+        eventoPartidaRepository.saveAndFlush(evento);
+
+        estado.aplicar(evento);
+        if (evento.getSequencia() % intervaloSnapshot == 0) {
+            snapshotPartidaRepository.save(estado.toSnapshot());
+        }
+
+        if (evento.getTipo() == TipoEvento.FIM) {
+            // o placar final continua chegando na partida, no outbox e no stream pelo caminho de sempre
+            EditarPartidaDTO placar = new EditarPartidaDTO();
+            placar.setPlacarMandante(estado.getPlacarMandante());
+            placar.setPlacarVisitante(estado.getPlacarVisitante());
+            partidaService.editarPartida(placar, partidaId);
+        }
+        return estado;
+    }
+
+    @Transactional(readOnly = true)
+    public EstadoPartida getEstado(Integer partidaId) {
+        if (!partidaRepository.existsById(partidaId)) {
+            throw new PartidaNaoEncontradaException("Partida não encontrada");
+        }
+        return carregarEstado(partidaId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventoPartida> listarEventos(Integer partidaId, long apos) {
+        return eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(partidaId, apos);
+    }
+
+    private EstadoPartida carregarEstado(Integer partidaId) {
+        EstadoPartida estado = snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(partidaId)
+                .map(EstadoPartida::deSnapshot)
+                .orElseGet(() -> new EstadoPartida(partidaId));
+
+        for (EventoPartida evento : eventoPartidaRepository
+                .findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(partidaId, estado.getSequencia())) {
+            estado.aplicar(evento);
+        }
+        return estado;
+    }
+
+    private boolean precisaLado(TipoEvento tipo) {
+        return tipo == TipoEvento.GOL || tipo == TipoEvento.CARTAO_AMARELO || tipo == TipoEvento.CARTAO_VERMELHO;
+    }
+}
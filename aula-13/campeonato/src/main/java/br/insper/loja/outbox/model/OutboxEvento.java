@@ -0,0 +1,27 @@
+package br.insper.loja.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+public class OutboxEvento {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_evento_seq")
+    @SequenceGenerator(name = "outbox_evento_seq", sequenceName = "outbox_evento_seq", allocationSize = 50)
+    private Long id;
+
+    private String topico;
+
+    private Integer partidaId;
+
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime dataCriacao;
+
+}
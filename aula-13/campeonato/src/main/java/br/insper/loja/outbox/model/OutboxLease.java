@@ -0,0 +1,28 @@
+package br.insper.loja.outbox.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha unica que diz qual instancia publica o outbox. Com um so publicador os eventos de uma
+ * partida chegam ao Kafka na ordem em que foram gravados.
+ */
+@Entity
+@Getter
+@Setter
+public class OutboxLease {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private String dono;
+
+    private LocalDateTime expiraEm;
+
+}
@@ -0,0 +1,20 @@
+package br.insper.loja.outbox.repository;
+
+import br.insper.loja.outbox.model.OutboxEvento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long> {
+
+    // sem lock: so o dono do OutboxLease le e apaga eventos
+    @Query("select e from OutboxEvento e order by e.id")
+    List<OutboxEvento> buscarPendentes(Pageable pageable);
+
+    @Query("select min(e.dataCriacao) from OutboxEvento e")
+    LocalDateTime buscarDataMaisAntiga();
+
+}
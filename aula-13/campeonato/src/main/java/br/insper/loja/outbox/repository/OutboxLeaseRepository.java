@@ -0,0 +1,22 @@
+package br.insper.loja.outbox.repository;
+
+import br.insper.loja.outbox.model.OutboxLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface OutboxLeaseRepository extends JpaRepository<OutboxLease, Integer> {
+
+    // renova se ja e o dono ou assume se o dono anterior deixou expirar
+    @Modifying
+    @Query("""
+            update OutboxLease l set l.dono = :dono, l.expiraEm = :expiraEm
+            where l.id = :id and (l.dono = :dono or l.expiraEm < :agora)
+            """)
+    int renovar(@Param("id") Integer id, @Param("dono") String dono,
+                @Param("agora") LocalDateTime agora, @Param("expiraEm") LocalDateTime expiraEm);
+
+}
@@ -0,0 +1,174 @@
+package br.insper.loja.outbox.service;
+
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.loja.outbox.model.OutboxEvento;
+import br.insper.loja.outbox.model.OutboxLease;
+import br.insper.loja.outbox.repository.OutboxEventoRepository;
+import br.insper.loja.outbox.repository.OutboxLeaseRepository;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Autowired
+    private KafkaTemplate<String, PartidaEvento> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxLeaseRepository outboxLeaseRepository;
+
+    @Value("${campeonato.outbox.tamanho-lote:200}")
+    private int tamanhoLote = 200;
+
+    // maior que a espera pelos acks, para o lease nao vencer no meio de um lote
+    @Value("${campeonato.outbox.lease:60s}")
+    private Duration lease = Duration.ofSeconds(60);
+
+    private final String instancia = UUID.randomUUID().toString();
+
+    private Counter publicados;
+
+    private Timer tempoLote;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        publicados = Counter.builder("outbox.publicados")
+                .description("Eventos do outbox publicados no Kafka")
+                .register(meterRegistry);
+        tempoLote = Timer.builder("outbox.lote")
+                .description("Tempo para publicar um lote do outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pendentes", outboxEventoRepository, OutboxEventoRepository::count)
+                .description("Eventos aguardando publicacao")
+                .register(meterRegistry);
+        Gauge.builder("outbox.atraso", this, OutboxService::getAtrasoSegundos)
+                .description("Idade em segundos do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @SneakyThrows
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String topico, RetornarPartidaDTO dto) {
+        OutboxEvento evento = new OutboxEvento();
+        evento.setTopico(topico);
+        evento.setPartidaId(dto.getId());
+        // o DTO esconde a versao do JSON da API; o evento precisa dela
+        PartidaEvento partidaEvento = new PartidaEvento(dto.getId(), dto.getNomeMandante(), dto.getNomeVisitante(),
+                dto.getPlacarMandante(), dto.getPlacarVisitante(), dto.getStatus());
+        partidaEvento.setVersao(dto.getVersao());
+        evento.setPayload(objectMapper.writeValueAsString(partidaEvento));
+        evento.setDataCriacao(LocalDateTime.now());
+        outboxEventoRepository.save(evento);
+    }
+
+    @Scheduled(fixedDelayString = "${campeonato.outbox.intervalo:500}")
+    public void publicarPendentes() {
+        int publicadosNoLote;
+        do {
+            if (!assumirPublicacao()) {
+                return;
+            }
+            publicadosNoLote = tempoLote.record(this::publicarLote);
+        } while (publicadosNoLote == tamanhoLote);
+    }
+
+    // so uma instancia publica por vez, para nao multiplicar envios e reordenacoes no topico
+    private boolean assumirPublicacao() {
+        LocalDateTime agora = LocalDateTime.now();
+        Integer renovado = transactionTemplate.execute(status ->
+                outboxLeaseRepository.renovar(OutboxLease.ID, instancia, agora, agora.plus(lease)));
+        if (renovado != null && renovado == 1) {
+            return true;
+        }
+        if (!outboxLeaseRepository.existsById(OutboxLease.ID)) {
+            criarLease();
+        }
+        return false;
+    }
+
+    private void criarLease() {
+        OutboxLease outboxLease = new OutboxLease();
+        outboxLease.setId(OutboxLease.ID);
+        outboxLease.setExpiraEm(LocalDateTime.now());
+        try {
+            outboxLeaseRepository.save(outboxLease);
+        } catch (DataIntegrityViolationException e) {
+            // outra instancia criou primeiro
+        }
+    }
+
+    @SneakyThrows
+    private int publicarLote() {
+        List<OutboxEvento> eventos = transactionTemplate.execute(status ->
+                outboxEventoRepository.buscarPendentes(PageRequest.of(0, tamanhoLote)));
+        if (eventos == null || eventos.isEmpty()) {
+            return 0;
+        }
+
+        // fora de transacao: nenhuma linha fica presa enquanto o Kafka confirma os envios.
+        // a partida e a chave, mas a ordem de id nao e a ordem de commit: cada replica reserva seu
+        // bloco de ids. por isso o evento leva a versao da partida e os consumidores descartam
+        // os que chegam atrasados
+        List<CompletableFuture<SendResult<String, PartidaEvento>>> envios = new ArrayList<>();
+        for (OutboxEvento evento : eventos) {
+            PartidaEvento partidaEvento = objectMapper.readValue(evento.getPayload(), PartidaEvento.class);
+            envios.add(kafkaTemplate.send(evento.getTopico(), String.valueOf(evento.getPartidaId()), partidaEvento));
+        }
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(envios.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        transactionTemplate.execute(status -> {
+            outboxEventoRepository.deleteAllInBatch(eventos);
+            return null;
+        });
+        publicados.increment(eventos.size());
+        return eventos.size();
+    }
+
+    public double getAtrasoSegundos() {
+        LocalDateTime maisAntiga = outboxEventoRepository.buscarDataMaisAntiga();
+        if (maisAntiga == null) {
+            return 0;
+        }
+        return Duration.between(maisAntiga, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+}
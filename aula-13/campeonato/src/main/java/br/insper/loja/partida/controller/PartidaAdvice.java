@@ -1,7 +1,9 @@
 package br.insper.loja.partida.controller;
 
 import br.insper.loja.common.Erro;
+import br.insper.loja.partida.exception.PartidaEncerradaException;
 import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
+import br.insper.loja.partida.exception.StreamIndisponivelException;
 import br.insper.loja.time.exception.TimeNaoEncontradoException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -25,4 +27,26 @@ public class PartidaAdvice {
         return erro;
     }
 
+    @ExceptionHandler(PartidaEncerradaException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Erro partidaEncerradaHandler(PartidaEncerradaException e) {
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(409);
+        return erro;
+    }
+
+    @ExceptionHandler(StreamIndisponivelException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Erro streamIndisponivelHandler(StreamIndisponivelException e) {
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(503);
+        return erro;
+    }
+
 }
@@ -1,12 +1,21 @@
 package br.insper.loja.partida.controller;
 
+import br.insper.loja.common.ETags;
 import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.dto.GerarPartidasDTO;
+import br.insper.loja.partida.dto.ResultadoPartidaDTO;
 import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.dto.RetornarResultadosDTO;
 import br.insper.loja.partida.dto.SalvarPartidaDTO;
 import br.insper.loja.partida.service.PartidaService;
+import br.insper.loja.partida.service.PartidaStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,14 +25,51 @@ public class PartidaController {
     @Autowired
     private PartidaService partidaService;
 
+    @Autowired
+    private PartidaStreamService partidaStreamService;
+
     @GetMapping("/partida")
-    public List<RetornarPartidaDTO> getPartida(@RequestParam(required = false) String mandante) {
-        return partidaService.listarPartidas(mandante);
+    public ResponseEntity<List<RetornarPartidaDTO>> getPartida(@RequestParam(required = false) String mandante,
+                                                               @RequestParam(required = false) String visitante,
+                                                               @RequestParam(required = false) String status,
+                                                               @RequestParam(required = false) Integer cursor,
+                                                               @RequestParam(defaultValue = "100") Integer tamanho) {
+        List<RetornarPartidaDTO> partidas = partidaService.listarPartidas(mandante, visitante, status, cursor, tamanho);
+
+        // com If-None-Match igual a ETag o Spring responde 304 sem serializar o corpo
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ETags.deColecao(partidas, RetornarPartidaDTO::getId, RetornarPartidaDTO::getVersao));
+        if (!partidas.isEmpty() && partidas.size() >= Math.min(tamanho, PartidaService.TAMANHO_MAXIMO_PAGINA)) {
+            response.header("X-Proximo-Cursor", String.valueOf(partidas.getLast().getId()));
+        }
+        return response.body(partidas);
+    }
+
+    @GetMapping(value = "/partida", params = "ids")
+    public ResponseEntity<List<RetornarPartidaDTO>> getPartidas(@RequestParam List<Integer> ids) {
+        List<RetornarPartidaDTO> partidas = partidaService.getPartidas(ids);
+        return ResponseEntity.ok()
+                .eTag(ETags.deColecao(partidas, RetornarPartidaDTO::getId, RetornarPartidaDTO::getVersao))
+                .body(partidas);
+    }
+
+    @GetMapping(value = "/partida/exportar", produces = "application/x-ndjson")
+    public StreamingResponseBody exportarPartidas() {
+        return outputStream -> partidaService.exportarPartidas(outputStream);
+    }
+
+    @GetMapping(value = "/partida/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Integer partida,
+                             @RequestParam(required = false) String time) {
+        return partidaStreamService.assinar(partida, time);
     }
 
     @GetMapping("/partida/{id}")
-    public RetornarPartidaDTO getPartida(@PathVariable Integer id) {
-        return partidaService.getPartida(id);
+    public ResponseEntity<RetornarPartidaDTO> getPartida(@PathVariable Integer id) {
+        RetornarPartidaDTO partida = partidaService.getPartida(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.deRecurso(partida.getId(), partida.getVersao()))
+                .body(partida);
     }
 
     @PostMapping("/partida")
@@ -32,6 +78,17 @@ public class PartidaController {
         return partidaService.cadastrarPartida(partida);
     }
 
+    @PostMapping("/partida/lote")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<RetornarPartidaDTO> gerarPartidas(@RequestBody GerarPartidasDTO dto) {
+        return partidaService.gerarPartidas(dto);
+    }
+
+    @PostMapping("/partida/resultados")
+    public RetornarResultadosDTO registrarResultados(@RequestBody List<ResultadoPartidaDTO> resultados) {
+        return partidaService.registrarResultados(resultados);
+    }
+
     @PostMapping("/partida/{id}")
     @ResponseStatus(HttpStatus.CREATED)
     public RetornarPartidaDTO editarPartida(@RequestBody EditarPartidaDTO partida, @PathVariable Integer id) {
@@ -0,0 +1,24 @@
+package br.insper.loja.partida.dto;
+
+import java.util.List;
+
+public class GerarPartidasDTO {
+    private List<Integer> times;
+    private boolean returno = true;
+
+    public List<Integer> getTimes() {
+        return times;
+    }
+
+    public void setTimes(List<Integer> times) {
+        this.times = times;
+    }
+
+    public boolean isReturno() {
+        return returno;
+    }
+
+    public void setReturno(boolean returno) {
+        this.returno = returno;
+    }
+}
@@ -0,0 +1,32 @@
+package br.insper.loja.partida.dto;
+
+public class ResultadoPartidaDTO {
+    private Integer id;
+    private Integer placarMandante;
+
+    private Integer placarVisitante;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getPlacarMandante() {
+        return placarMandante;
+    }
+
+    public void setPlacarMandante(Integer placarMandante) {
+        this.placarMandante = placarMandante;
+    }
+
+    public Integer getPlacarVisitante() {
+        return placarVisitante;
+    }
+
+    public void setPlacarVisitante(Integer placarVisitante) {
+        this.placarVisitante = placarVisitante;
+    }
+}
@@ -1,6 +1,7 @@
 package br.insper.loja.partida.dto;
 
 import br.insper.loja.partida.model.Partida;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class RetornarPartidaDTO {
     private Integer id;
@@ -11,6 +12,28 @@ public class RetornarPartidaDTO {
 
     private String status;
 
+    @JsonIgnore
+    private long versao;
+
+    public RetornarPartidaDTO() {
+    }
+
+    public RetornarPartidaDTO(Integer id, String nomeMandante, String nomeVisitante,
+                              Integer placarMandante, Integer placarVisitante, String status) {
+        this.id = id;
+        this.nomeMandante = nomeMandante;
+        this.nomeVisitante = nomeVisitante;
+        this.placarMandante = placarMandante;
+        this.placarVisitante = placarVisitante;
+        this.status = status;
+    }
+
+    public RetornarPartidaDTO(Integer id, String nomeMandante, String nomeVisitante,
+                              Integer placarMandante, Integer placarVisitante, String status, long versao) {
+        this(id, nomeMandante, nomeVisitante, placarMandante, placarVisitante, status);
+        this.versao = versao;
+    }
+
     public static RetornarPartidaDTO getRetornarPartidaDTO(Partida partida) {
         RetornarPartidaDTO retornarPartidaDTO = new RetornarPartidaDTO();
         retornarPartidaDTO.setId(partida.getId());
@@ -19,6 +42,7 @@ public class RetornarPartidaDTO {
         retornarPartidaDTO.setPlacarMandante(partida.getPlacarMandante());
         retornarPartidaDTO.setPlacarVisitante(partida.getPlacarVisitante());
         retornarPartidaDTO.setStatus(partida.getStatus());
+        retornarPartidaDTO.setVersao(partida.getVersao());
         return retornarPartidaDTO;
     }
 
@@ -68,4 +92,12 @@ public class RetornarPartidaDTO {
     public void setId(Integer id) {
         this.id = id;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
 }
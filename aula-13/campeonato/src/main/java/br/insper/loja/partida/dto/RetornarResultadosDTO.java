@@ -0,0 +1,25 @@
+package br.insper.loja.partida.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RetornarResultadosDTO {
+    private List<RetornarPartidaDTO> atualizadas = new ArrayList<>();
+    private List<Integer> naoEncontradas = new ArrayList<>();
+
+    public List<RetornarPartidaDTO> getAtualizadas() {
+        return atualizadas;
+    }
+
+    public void setAtualizadas(List<RetornarPartidaDTO> atualizadas) {
+        this.atualizadas = atualizadas;
+    }
+
+    public List<Integer> getNaoEncontradas() {
+        return naoEncontradas;
+    }
+
+    public void setNaoEncontradas(List<Integer> naoEncontradas) {
+        this.naoEncontradas = naoEncontradas;
+    }
+}
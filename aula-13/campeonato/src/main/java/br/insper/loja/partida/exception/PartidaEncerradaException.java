@@ -0,0 +1,9 @@
+package br.insper.loja.partida.exception;
+
+public class PartidaEncerradaException extends RuntimeException {
+
+    public PartidaEncerradaException(String mensagem) {
+        super(mensagem);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.insper.loja.partida.exception;
+
+public class StreamIndisponivelException extends RuntimeException {
+
+    public StreamIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+
+}
@@ -8,9 +8,15 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
+@Table(indexes = {
+        @Index(name = "idx_partida_mandante", columnList = "id_mandante, id"),
+        @Index(name = "idx_partida_visitante", columnList = "id_visitante, id"),
+        @Index(name = "idx_partida_status", columnList = "status, id")
+})
 public class Partida {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partida_seq")
+    @SequenceGenerator(name = "partida_seq", sequenceName = "partida_seq", allocationSize = 50)
     private Integer id;
 
     private String identificador;
@@ -28,5 +34,8 @@ public class Partida {
 
     private String status;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long versao;
 
 }
@@ -1,11 +1,54 @@
 package br.insper.loja.partida.repository;
 
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
 import br.insper.loja.partida.model.Partida;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PartidaRepository extends JpaRepository<Partida, Integer> {
+public interface PartidaRepository extends JpaRepository<Partida, Integer>, PartidaRepositoryCustom {
 
+    @Query("""
+            select new br.insper.loja.partida.dto.RetornarPartidaDTO(
+                p.id, m.nome, v.nome, p.placarMandante, p.placarVisitante, p.status, p.versao)
+            from Partida p
+            join p.mandante m
+            join p.visitante v
+            where p.id = :id
+            """)
+    Optional<RetornarPartidaDTO> buscarPartida(@Param("id") Integer id);
+
+    @Query("""
+            select new br.insper.loja.partida.dto.RetornarPartidaDTO(
+                p.id, m.nome, v.nome, p.placarMandante, p.placarVisitante, p.status, p.versao)
+            from Partida p
+            join p.mandante m
+            join p.visitante v
+            where p.id in :ids
+            order by p.id
+            """)
+    List<RetornarPartidaDTO> buscarPartidas(@Param("ids") Collection<Integer> ids);
+
+    @Query("select p from Partida p join fetch p.mandante join fetch p.visitante where p.id in :ids")
+    List<Partida> buscarPartidasComTimes(@Param("ids") Collection<Integer> ids);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new br.insper.loja.partida.dto.RetornarPartidaDTO(
+                p.id, m.nome, v.nome, p.placarMandante, p.placarVisitante, p.status, p.versao)
+            from Partida p
+            join p.mandante m
+            join p.visitante v
+            order by p.id
+            """)
+    Stream<RetornarPartidaDTO> streamPartidas();
 
 }
@@ -0,0 +1,13 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface PartidaRepositoryCustom {
+
+    List<RetornarPartidaDTO> buscarPartidas(String mandante, String visitante, String status, Integer cursor,
+                                            Pageable pageable);
+
+}
@@ -0,0 +1,59 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.model.Time;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PartidaRepositoryCustomImpl implements PartidaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // so os filtros informados entram no where: com "(:x is null or ...)" o banco precisa de um
+    // plano que sirva para qualquer combinacao e acaba ignorando os indices de mandante, visitante e status
+    @Override
+    public List<RetornarPartidaDTO> buscarPartidas(String mandante, String visitante, String status, Integer cursor,
+                                                   Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RetornarPartidaDTO> query = cb.createQuery(RetornarPartidaDTO.class);
+        Root<Partida> p = query.from(Partida.class);
+        Join<Partida, Time> m = p.join("mandante");
+        Join<Partida, Time> v = p.join("visitante");
+
+        query.select(cb.construct(RetornarPartidaDTO.class, p.get("id"), m.get("nome"), v.get("nome"),
+                p.get("placarMandante"), p.get("placarVisitante"), p.get("status"), p.get("versao")));
+
+        List<Predicate> filtros = new ArrayList<>();
+        if (mandante != null) {
+            filtros.add(cb.equal(m.get("identificador"), mandante));
+        }
+        if (visitante != null) {
+            filtros.add(cb.equal(v.get("identificador"), visitante));
+        }
+        if (status != null) {
+            filtros.add(cb.equal(p.get("status"), status));
+        }
+        if (cursor != null) {
+            filtros.add(cb.greaterThan(p.<Integer>get("id"), cursor));
+        }
+        query.where(filtros.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(p.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.insper.loja.partida.service;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+
+/**
+ * Atualizacao de uma partida entregue aos assinantes do stream, montada a partir do topico partidas. mandante e visitante sao os identificadores dos times.
+ */
+public record PartidaAtualizada(RetornarPartidaDTO partida, String mandante, String visitante) {
+}
@@ -1,24 +1,48 @@
 package br.insper.loja.partida.service;
 
+import br.insper.loja.outbox.service.OutboxService;
 import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.dto.GerarPartidasDTO;
 import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
 import br.insper.loja.partida.model.Partida;
 import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.partida.dto.ResultadoPartidaDTO;
 import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.dto.RetornarResultadosDTO;
 import br.insper.loja.partida.dto.SalvarPartidaDTO;
 import br.insper.loja.time.model.Time;
 import br.insper.loja.time.service.TimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class PartidaService {
 
+    public static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+    public static final int TAMANHO_LOTE = 50;
+
+    public static final int MAXIMO_IDS = 200;
+
     @Autowired
     private PartidaRepository partidaRepository;
 
@@ -26,8 +50,15 @@ public class PartidaService {
     private TimeService timeService;
 
     @Autowired
-    private KafkaTemplate<String, RetornarPartidaDTO> kafkaTemplate;
+    private OutboxService outboxService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Timed(value = "partida.service", histogram = true)
     public RetornarPartidaDTO cadastrarPartida(SalvarPartidaDTO salvarPartidaDTO) {
 
         Time mandante = timeService.getTime(salvarPartidaDTO.getMandante());
@@ -42,28 +73,83 @@ public class PartidaService {
         return RetornarPartidaDTO.getRetornarPartidaDTO(partida);
     }
 
+    @Transactional
+    public List<RetornarPartidaDTO> gerarPartidas(GerarPartidasDTO dto) {
+        if (dto.getTimes() == null || dto.getTimes().size() < 2
+                || new HashSet<>(dto.getTimes()).size() != dto.getTimes().size()) {
+            throw new RuntimeException("Dados invalidos");
+        }
 
+        List<Time> times = timeService.getTimes(dto.getTimes());
+        List<Partida> partidas = gerarConfrontos(times, dto.isReturno());
 
-    public List<RetornarPartidaDTO> listarPartidas(String mandante) {
-        List<Partida> partidas = partidaRepository.findAll();
-        if  (mandante != null) {
-            ArrayList<RetornarPartidaDTO> lista = new ArrayList<>();
+        List<RetornarPartidaDTO> response = new ArrayList<>(partidas.size());
+        for (int i = 0; i < partidas.size(); i++) {
+            Partida partida = partidas.get(i);
+            entityManager.persist(partida);
+            response.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+
+            if ((i + 1) % TAMANHO_LOTE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return response;
+    }
 
-            for (Partida partida  : partidas) {
-                if (partida.getMandante().getIdentificador().equals(mandante))  {
-                    lista.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+    private List<Partida> gerarConfrontos(List<Time> times, boolean returno) {
+        List<Time> rodizio = new ArrayList<>(times);
+        if (rodizio.size() % 2 == 1) {
+            rodizio.add(null);
+        }
+
+        int n = rodizio.size();
+        List<Partida> turno = new ArrayList<>();
+        for (int rodada = 0; rodada < n - 1; rodada++) {
+            for (int i = 0; i < n / 2; i++) {
+                Time primeiro = rodizio.get(i);
+                Time segundo = rodizio.get(n - 1 - i);
+                if (primeiro == null || segundo == null) {
+                    continue;
+                }
+                if (rodada % 2 == 0) {
+                    turno.add(novaPartida(primeiro, segundo));
+                } else {
+                    turno.add(novaPartida(segundo, primeiro));
                 }
             }
-            return lista;
+            rodizio.add(1, rodizio.remove(n - 1));
         }
 
-        List<RetornarPartidaDTO> response = new ArrayList<>();
-        for (Partida partida : partidas) {
-            response.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        List<Partida> partidas = new ArrayList<>(turno);
+        if (returno) {
+            for (Partida partida : turno) {
+                partidas.add(novaPartida(partida.getVisitante(), partida.getMandante()));
+            }
         }
-        return response;
+        return partidas;
+    }
+
+    private Partida novaPartida(Time mandante, Time visitante) {
+        Partida partida = new Partida();
+        partida.setMandante(mandante);
+        partida.setVisitante(visitante);
+        partida.setStatus("AGENDADA");
+        return partida;
     }
 
+
+
+    @Timed(value = "partida.service", histogram = true)
+    @Transactional(readOnly = true)
+    public List<RetornarPartidaDTO> listarPartidas(String mandante, String visitante, String status,
+                                                   Integer cursor, Integer tamanho) {
+        int limite = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA);
+        return partidaRepository.buscarPartidas(mandante, visitante, status, cursor, PageRequest.of(0, limite));
+    }
+
+    @Timed(value = "partida.service", histogram = true)
+    @Transactional
     public RetornarPartidaDTO editarPartida(EditarPartidaDTO dto, Integer id) {
 
         Partida partida = partidaRepository.findById(id).get();
@@ -71,22 +157,85 @@ public class PartidaService {
         partida.setPlacarVisitante(dto.getPlacarVisitante());
         partida.setStatus("REALIZADA");
 
-        partida = partidaRepository.save(partida);
+        // flush antes de montar o DTO: o @Version so e incrementado no flush, e a versao segue
+        // para o outbox e dali para o id do evento do stream
+        partida = partidaRepository.saveAndFlush(partida);
 
         RetornarPartidaDTO retornarPartidaDTO =
                 RetornarPartidaDTO.getRetornarPartidaDTO(partida);
-        kafkaTemplate.send("partidas", retornarPartidaDTO);
+        outboxService.registrar("partidas", retornarPartidaDTO);
 
         return  retornarPartidaDTO;
 
     }
 
+    @Transactional
+    public RetornarResultadosDTO registrarResultados(List<ResultadoPartidaDTO> resultados) {
+        Map<Integer, ResultadoPartidaDTO> porId = new LinkedHashMap<>();
+        for (ResultadoPartidaDTO resultado : resultados) {
+            porId.put(resultado.getId(), resultado);
+        }
+
+        Map<Integer, Partida> partidas = new HashMap<>();
+        for (Partida partida : partidaRepository.buscarPartidasComTimes(porId.keySet())) {
+            partidas.put(partida.getId(), partida);
+        }
+
+        RetornarResultadosDTO response = new RetornarResultadosDTO();
+        List<Partida> atualizadas = new ArrayList<>();
+        for (ResultadoPartidaDTO resultado : porId.values()) {
+            Partida partida = partidas.get(resultado.getId());
+            if (partida == null) {
+                response.getNaoEncontradas().add(resultado.getId());
+                continue;
+            }
+            partida.setPlacarMandante(resultado.getPlacarMandante());
+            partida.setPlacarVisitante(resultado.getPlacarVisitante());
+            partida.setStatus("REALIZADA");
+            atualizadas.add(partida);
+        }
+        // as versoes novas so existem depois do flush
+        partidaRepository.flush();
+
+        for (Partida partida : atualizadas) {
+            RetornarPartidaDTO retornarPartidaDTO = RetornarPartidaDTO.getRetornarPartidaDTO(partida);
+            response.getAtualizadas().add(retornarPartidaDTO);
+            outboxService.registrar("partidas", retornarPartidaDTO);
+        }
+
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarPartidas(OutputStream outputStream) throws IOException {
+        OutputStream saida = new BufferedOutputStream(outputStream, 64 * 1024);
+        try (Stream<RetornarPartidaDTO> partidas = partidaRepository.streamPartidas()) {
+            Iterator<RetornarPartidaDTO> iterator = partidas.iterator();
+            while (iterator.hasNext()) {
+                saida.write(objectMapper.writeValueAsBytes(iterator.next()));
+                saida.write('\n');
+            }
+        }
+        saida.flush();
+    }
+
+    @Transactional(readOnly = true)
     public RetornarPartidaDTO getPartida(Integer id) {
-        Optional<Partida> partida = partidaRepository.findById(id);
+        Optional<RetornarPartidaDTO> partida = partidaRepository.buscarPartida(id);
         if (partida.isPresent()) {
-            return RetornarPartidaDTO.getRetornarPartidaDTO(partida.get());
+            return partida.get();
         }
         throw new PartidaNaoEncontradaException("Partida não encontrada");
     }
 
+    @Timed(value = "partida.service", histogram = true)
+    @Transactional(readOnly = true)
+    public List<RetornarPartidaDTO> getPartidas(List<Integer> ids) {
+        if (ids.isEmpty() || ids.size() > MAXIMO_IDS) {
+            throw new RuntimeException("Dados invalidos");
+        }
+        // ids que nao existem simplesmente ficam de fora da resposta
+        return partidaRepository.buscarPartidas(new HashSet<>(ids));
+    }
+
 }
@@ -0,0 +1,205 @@
+package br.insper.loja.partida.service;
+
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.exception.StreamIndisponivelException;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Distribui atualizacoes de placar para conexoes SSE. As conexoes ociosas nao prendem threads: cada
+ * assinante tem uma fila limitada, drenada em uma virtual thread apenas enquanto houver eventos.
+ * Um cliente lento que deixa a fila encher e desconectado em vez de acumular eventos em memoria.
+ * As atualizacoes chegam pelo topico partidas, com um grupo por instancia: assim os assinantes de
+ * qualquer replica recebem tambem o que foi alterado nas outras.
+ */
+@Service
+public class PartidaStreamService implements DisposableBean {
+
+    public static final int TAMANHO_FILA = 64;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // ultima versao enviada por partida, para nao repassar eventos que chegam atrasados
+    private final Map<Integer, Long> versoes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${campeonato.stream.timeout:1800000}")
+    private long timeout = 1_800_000;
+
+    @Value("${campeonato.stream.max-assinantes:20000}")
+    private int maxAssinantes = 20_000;
+
+    private Counter descartados;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("partida.stream.assinantes", assinantes, Set::size)
+                .description("Conexoes SSE abertas")
+                .register(meterRegistry);
+        descartados = Counter.builder("partida.stream.descartados")
+                .description("Assinantes desconectados por nao acompanharem os eventos")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter assinar(Integer partida, String time) {
+        if (assinantes.size() >= maxAssinantes) {
+            throw new StreamIndisponivelException("Limite de conexoes atingido");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout);
+        Assinante assinante = new Assinante(emitter, partida, time);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(e -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+        return emitter;
+    }
+
+    @KafkaListener(topics = "partidas",
+            groupId = "campeonato-stream-${spring.application.instance-id:${random.uuid}}",
+            containerFactory = "partidaEventoKafkaListenerContainerFactory")
+    public void receber(PartidaEvento evento) throws JsonProcessingException {
+        Long versao = evento.getVersao();
+        if (versao != null && versoes.merge(evento.getId(), versao, Math::max) > versao) {
+            return;
+        }
+        // o filtro por time usa os identificadores, que o evento nao traz
+        Optional<Partida> partida = partidaRepository.findById(evento.getId());
+        if (partida.isEmpty()) {
+            return;
+        }
+        RetornarPartidaDTO dto = new RetornarPartidaDTO(evento.getId(), evento.getNomeMandante(),
+                evento.getNomeVisitante(), evento.getPlacarMandante(), evento.getPlacarVisitante(),
+                evento.getStatus(), versao == null ? 0 : versao);
+        publicar(new PartidaAtualizada(dto, partida.get().getMandante().getIdentificador(),
+                partida.get().getVisitante().getIdentificador()));
+    }
+
+    void publicar(PartidaAtualizada evento) throws JsonProcessingException {
+        // serializa uma unica vez, independente do numero de assinantes
+        String dados = objectMapper.writeValueAsString(evento.partida());
+        String id = evento.partida().getId() + "-" + evento.partida().getVersao();
+
+        for (Assinante assinante : assinantes) {
+            if (aceita(evento, assinante.partida, assinante.time)) {
+                assinante.enfileirar(SseEmitter.event().id(id).name("partida").data(dados));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${campeonato.stream.heartbeat:15000}")
+    public void enviarHeartbeat() {
+        for (Assinante assinante : assinantes) {
+            assinante.enfileirar(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getAssinantes() {
+        return assinantes.size();
+    }
+
+    static boolean aceita(PartidaAtualizada evento, Integer partida, String time) {
+        if (partida != null && !partida.equals(evento.partida().getId())) {
+            return false;
+        }
+        return time == null || time.equals(evento.mandante()) || time.equals(evento.visitante());
+    }
+
+    private void descartar(Assinante assinante) {
+        if (assinantes.remove(assinante)) {
+            descartados.increment();
+            // complete() espera um send em andamento, por isso nao roda na thread que publica
+            executor.execute(assinante.emitter::complete);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Assinante assinante : assinantes) {
+            assinante.emitter.complete();
+        }
+        executor.shutdownNow();
+    }
+
+    private class Assinante {
+
+        private final SseEmitter emitter;
+
+        private final Integer partida;
+
+        private final String time;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> fila = new ArrayBlockingQueue<>(TAMANHO_FILA);
+
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private Assinante(SseEmitter emitter, Integer partida, String time) {
+            this.emitter = emitter;
+            this.partida = partida;
+            this.time = time;
+        }
+
+        private void enfileirar(SseEmitter.SseEventBuilder evento) {
+            if (!fila.offer(evento)) {
+                descartar(this);
+                return;
+            }
+            if (enviando.compareAndSet(false, true)) {
+                executor.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            try {
+                SseEmitter.SseEventBuilder evento;
+                while ((evento = fila.poll()) != null) {
+                    emitter.send(evento);
+                }
+            } catch (Exception e) {
+                assinantes.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                enviando.set(false);
+            }
+            // um evento pode ter chegado entre o ultimo poll e a liberacao da flag
+            if (!fila.isEmpty() && enviando.compareAndSet(false, true)) {
+                executor.execute(this::drenar);
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package br.insper.loja.time.controller;
 
+import br.insper.loja.common.ETags;
 import br.insper.loja.partida.service.PartidaService;
+import br.insper.loja.time.service.TimeBuscaService;
 import br.insper.loja.time.service.TimeService;
 import br.insper.loja.time.model.Time;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,14 +21,29 @@ public class TimeController {
     @Autowired
     private PartidaService partidaService;
 
+    @Autowired
+    private TimeBuscaService timeBuscaService;
+
     @GetMapping("/time")
-    public List<Time> getTimes(@RequestParam(required = false) String estado) {
-        return timeService.listarTimes(estado);
+    public ResponseEntity<List<Time>> getTimes(@RequestParam(required = false) String estado,
+                                               @RequestParam(required = false) String q,
+                                               @RequestParam(defaultValue = "10") Integer limite) {
+        if (q != null) {
+            return ResponseEntity.ok(timeBuscaService.buscar(q, Math.min(Math.max(limite, 1), 100)));
+        }
+
+        List<Time> times = timeService.listarTimes(estado);
+        return ResponseEntity.ok()
+                .eTag(ETags.deColecao(times, Time::getId, Time::getVersao))
+                .body(times);
     }
 
     @GetMapping("/time/{identificador}")
-    public Time getTime(@PathVariable Integer identificador) {
-        return timeService.getTime(identificador);
+    public ResponseEntity<Time> getTime(@PathVariable Integer identificador) {
+        Time time = timeService.getTime(identificador);
+        return ResponseEntity.ok()
+                .eTag(ETags.deRecurso(time.getId(), time.getVersao()))
+                .body(time);
     }
 
     @PostMapping("/time")
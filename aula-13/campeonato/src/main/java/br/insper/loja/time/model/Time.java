@@ -1,5 +1,6 @@
 package br.insper.loja.time.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
@@ -13,6 +14,10 @@ public class Time {
     private String identificador;
     private String estadio;
     private String estado;
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    @JsonIgnore
+    private long versao;
 
     public Time() {
     }
@@ -63,4 +68,12 @@ public class Time {
     public void setEstado(String estado) {
         this.estado = estado;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
 }
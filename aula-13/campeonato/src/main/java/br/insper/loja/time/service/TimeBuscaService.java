@@ -0,0 +1,202 @@
+package br.insper.loja.time.service;
+
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.repository.TimeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Indice em memoria para autocompletar times por nome e identificador. Consultas com menos de
+ * tres caracteres usam o mapa ordenado de palavras (busca por prefixo); as demais usam o indice
+ * de trigramas e conferem o texto apenas dos candidatos do trigrama mais raro.
+ */
+@Service
+public class TimeBuscaService {
+
+    public static final int TAMANHO_NGRAMA = 3;
+
+    private final Map<Integer, Entrada> entradas = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Integer>> ngramas = new ConcurrentHashMap<>();
+
+    private final NavigableMap<String, Set<Integer>> palavras = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("time.busca.entradas", entradas, Map::size)
+                .description("Times no indice de busca")
+                .register(meterRegistry);
+        Gauge.builder("time.busca.ngramas", ngramas, Map::size)
+                .description("Trigramas distintos no indice de busca")
+                .register(meterRegistry);
+        Gauge.builder("time.busca.memoria", this, TimeBuscaService::getMemoriaEstimada)
+                .description("Memoria estimada ocupada pelo indice de busca")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void reconstruir() {
+        entradas.clear();
+        ngramas.clear();
+        palavras.clear();
+        for (Time time : timeRepository.findAll()) {
+            indexar(time);
+        }
+    }
+
+    public synchronized void indexar(Time time) {
+        remover(time.getId());
+
+        Entrada entrada = new Entrada(time, normalizar(time.getNome() + " "
+                + (time.getIdentificador() == null ? "" : time.getIdentificador())));
+        entradas.put(time.getId(), entrada);
+        for (String ngrama : ngramasDe(entrada.texto)) {
+            ngramas.computeIfAbsent(ngrama, k -> ConcurrentHashMap.newKeySet()).add(time.getId());
+        }
+        for (String palavra : entrada.texto.split(" ")) {
+            if (!palavra.isEmpty()) {
+                palavras.computeIfAbsent(palavra, k -> ConcurrentHashMap.newKeySet()).add(time.getId());
+            }
+        }
+    }
+
+    public void reindexar(Integer id) {
+        timeRepository.findById(id).ifPresentOrElse(this::indexar, () -> remover(id));
+    }
+
+    public List<Time> buscar(String consulta, int limite) {
+        String termo = normalizar(consulta).trim();
+        if (termo.isEmpty()) {
+            return List.of();
+        }
+
+        List<Entrada> encontradas = new ArrayList<>();
+        if (termo.length() < TAMANHO_NGRAMA) {
+            Set<Integer> ids = new HashSet<>();
+            for (Set<Integer> porPalavra : palavras.subMap(termo, true, termo + Character.MAX_VALUE, false).values()) {
+                ids.addAll(porPalavra);
+            }
+            for (Integer id : ids) {
+                Entrada entrada = entradas.get(id);
+                if (entrada != null) {
+                    encontradas.add(entrada);
+                }
+            }
+        } else {
+            Set<Integer> candidatos = null;
+            for (String ngrama : ngramasDe(termo)) {
+                Set<Integer> ids = ngramas.get(ngrama);
+                if (ids == null) {
+                    return List.of();
+                }
+                if (candidatos == null || ids.size() < candidatos.size()) {
+                    candidatos = ids;
+                }
+            }
+            for (Integer id : candidatos) {
+                Entrada entrada = entradas.get(id);
+                if (entrada != null && entrada.texto.contains(termo)) {
+                    encontradas.add(entrada);
+                }
+            }
+        }
+
+        // quem comeca com o termo aparece antes de quem apenas o contem
+        encontradas.sort(Comparator.comparing((Entrada e) -> !e.texto.startsWith(termo))
+                .thenComparing(e -> e.texto));
+
+        List<Time> response = new ArrayList<>();
+        for (int i = 0; i < Math.min(limite, encontradas.size()); i++) {
+            response.add(encontradas.get(i).time);
+        }
+        return response;
+    }
+
+    public int getTamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Estimativa grosseira: cabecalho e conteudo das strings mais um no de hash por ocorrencia.
+     */
+    public long getMemoriaEstimada() {
+        long bytes = 0;
+        for (Map.Entry<String, Set<Integer>> ngrama : ngramas.entrySet()) {
+            bytes += 40 + 2L * ngrama.getKey().length() + 64 + 48L * ngrama.getValue().size();
+        }
+        for (Map.Entry<String, Set<Integer>> palavra : palavras.entrySet()) {
+            bytes += 40 + 2L * palavra.getKey().length() + 96 + 48L * palavra.getValue().size();
+        }
+        for (Entrada entrada : entradas.values()) {
+            bytes += 80 + 2L * entrada.texto.length();
+        }
+        return bytes;
+    }
+
+    private synchronized void remover(Integer id) {
+        Entrada anterior = id == null ? null : entradas.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String ngrama : ngramasDe(anterior.texto)) {
+            removerDe(ngramas, ngrama, id);
+        }
+        for (String palavra : anterior.texto.split(" ")) {
+            removerDe(palavras, palavra, id);
+        }
+    }
+
+    private void removerDe(Map<String, Set<Integer>> indice, String chave, Integer id) {
+        Set<Integer> ids = indice.get(chave);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                indice.remove(chave);
+            }
+        }
+    }
+
+    private Set<String> ngramasDe(String texto) {
+        Set<String> response = new HashSet<>();
+        for (int i = 0; i + TAMANHO_NGRAMA <= texto.length(); i++) {
+            response.add(texto.substring(i, i + TAMANHO_NGRAMA));
+        }
+        return response;
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase()
+                .replaceAll("\\s+", " ");
+    }
+
+    private record Entrada(Time time, String texto) {
+    }
+}
@@ -0,0 +1,51 @@
+package br.insper.loja.time.service;
+
+import br.insper.loja.common.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TimeCacheService {
+
+    public static final String TOPICO_INVALIDACAO = "times-invalidacao";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private KafkaTemplate<String, String> invalidacaoKafkaTemplate;
+
+    @Autowired
+    private TimeBuscaService timeBuscaService;
+
+    public void invalidar(Integer idTime) {
+        limpar();
+        invalidacaoKafkaTemplate.send(TOPICO_INVALIDACAO, String.valueOf(idTime), String.valueOf(idTime));
+    }
+
+    // cada replica usa um grupo proprio para receber todas as invalidacoes. sem
+    // spring.application.instance-id o sufixo e aleatorio: um padrao fixo juntaria duas replicas
+    // no mesmo grupo e cada uma perderia parte das invalidacoes. os grupos vazios de reinicios
+    // anteriores expiram no broker (offsets.retention.minutes)
+    @KafkaListener(topics = TOPICO_INVALIDACAO,
+            groupId = "campeonato-times-${spring.application.instance-id:${random.uuid}}")
+    public void receberInvalidacao(String idTime) {
+        limpar();
+        // o indice de busca das outras replicas acompanha o time alterado
+        timeBuscaService.reindexar(Integer.valueOf(idTime));
+    }
+
+    private void limpar() {
+        for (String nome : new String[]{CacheConfig.TIMES, CacheConfig.TIMES_POR_ESTADO}) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+}
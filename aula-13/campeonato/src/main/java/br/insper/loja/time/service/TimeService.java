@@ -1,12 +1,18 @@
 package br.insper.loja.time.service;
 
+import br.insper.loja.common.CacheConfig;
 import br.insper.loja.time.exception.TimeNaoEncontradoException;
 import br.insper.loja.time.repository.TimeRepository;
 import br.insper.loja.time.model.Time;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,15 +21,26 @@ public class TimeService {
     @Autowired
     private TimeRepository timeRepository;
 
+    @Autowired
+    private TimeCacheService timeCacheService;
+
+    @Autowired
+    private TimeBuscaService timeBuscaService;
+
     public Time cadastrarTime(Time time) {
         if (time.getNome().equals("")
                 || time.getIdentificador().equals("")) {
             throw  new RuntimeException("Dados invalidos");
         } else {
-            return timeRepository.save(time);
+            Time salvo = timeRepository.save(time);
+            timeBuscaService.indexar(salvo);
+            timeCacheService.invalidar(salvo.getId());
+            return salvo;
         }
     }
 
+    @Cacheable(CacheConfig.TIMES_POR_ESTADO)
+    @Transactional(readOnly = true)
     public List<Time> listarTimes(String estado) {
         if (estado != null) {
             return timeRepository.findByEstado(estado);
@@ -31,6 +48,8 @@ public class TimeService {
         return timeRepository.findAll();
     }
 
+    @Cacheable(CacheConfig.TIMES)
+    @Transactional(readOnly = true)
     public Time getTime(Integer id) {
         Optional<Time> op = timeRepository.findById(id);
         if (op.isPresent()) {
@@ -39,4 +58,21 @@ public class TimeService {
         throw new TimeNaoEncontradoException("Time " + id + " não encontrado");
     }
 
+    public List<Time> getTimes(List<Integer> ids) {
+        Map<Integer, Time> encontrados = new HashMap<>();
+        for (Time time : timeRepository.findAllById(ids)) {
+            encontrados.put(time.getId(), time);
+        }
+
+        List<Time> times = new ArrayList<>();
+        for (Integer id : ids) {
+            Time time = encontrados.get(id);
+            if (time == null) {
+                throw new TimeNaoEncontradoException("Time " + id + " não encontrado");
+            }
+            times.add(time);
+        }
+        return times;
+    }
+
 }
\ No newline at end of file
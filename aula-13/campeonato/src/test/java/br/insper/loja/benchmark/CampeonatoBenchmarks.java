@@ -0,0 +1,27 @@
+package br.insper.loja.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * mvn -Pjmh test-compile exec:java [-Dexec.args="arquivo.json"]
+ *
+ * Roda todos os benchmarks do pacote com o GCProfiler, que adiciona gc.alloc.rate.norm
+ * (bytes alocados por operacao). O resultado em JSON e o que guardamos como baseline e
+ * comparamos a cada mudanca.
+ */
+public class CampeonatoBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        String resultado = args.length > 0 ? args[0] : "target/jmh-campeonato.json";
+
+        new Runner(new OptionsBuilder()
+                .include(CampeonatoBenchmarks.class.getPackageName() + ".*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultado)
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package br.insper.loja.benchmark;
+
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.model.Time;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Dados {
+
+    static final int TIMES = 20;
+
+    private Dados() {
+    }
+
+    static List<Time> times() {
+        List<Time> times = new ArrayList<>();
+        for (int i = 0; i < TIMES; i++) {
+            Time time = new Time("Time " + i, "time-" + i, "Estadio " + i, i % 2 == 0 ? "SP" : "RJ");
+            time.setId(i + 1);
+            times.add(time);
+        }
+        return times;
+    }
+
+    static List<Partida> partidas(int quantidade) {
+        List<Time> times = times();
+        List<Partida> partidas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Partida partida = new Partida();
+            partida.setId(i + 1);
+            partida.setMandante(times.get(i % TIMES));
+            partida.setVisitante(times.get((i + 1) % TIMES));
+            partida.setPlacarMandante(i % 4);
+            partida.setPlacarVisitante(i % 3);
+            partida.setStatus(i % 2 == 0 ? "REALIZADA" : "AGENDADA");
+            partidas.add(partida);
+        }
+        return partidas;
+    }
+}
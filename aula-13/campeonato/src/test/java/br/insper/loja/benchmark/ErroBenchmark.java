@@ -0,0 +1,39 @@
+package br.insper.loja.benchmark;
+
+import br.insper.loja.common.Erro;
+import br.insper.loja.partida.controller.PartidaAdvice;
+import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tratar mede so o PartidaAdvice; lancarETratar inclui a criacao da excecao, onde o
+ * preenchimento do stack trace costuma dominar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErroBenchmark {
+
+    private final PartidaAdvice partidaAdvice = new PartidaAdvice();
+
+    private final PartidaNaoEncontradaException excecao = new PartidaNaoEncontradaException("Partida não encontrada");
+
+    @Benchmark
+    public Erro tratar() {
+        return partidaAdvice.timeNaoEncontradoHandler(excecao);
+    }
+
+    @Benchmark
+    public Erro lancarETratar() {
+        try {
+            throw new PartidaNaoEncontradaException("Partida não encontrada");
+        } catch (PartidaNaoEncontradaException e) {
+            return partidaAdvice.timeNaoEncontradoHandler(e);
+        }
+    }
+}
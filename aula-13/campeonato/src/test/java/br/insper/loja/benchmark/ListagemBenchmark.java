@@ -0,0 +1,52 @@
+package br.insper.loja.benchmark;
+
+import br.insper.loja.common.ETags;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * filtrarEmMemoria reproduz o laco que listarPartidas fazia sobre findAll() antes da consulta
+ * filtrada no banco; serve de referencia para o custo de voltar a filtrar na aplicacao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListagemBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tamanho;
+
+    private List<Partida> partidas;
+
+    private List<RetornarPartidaDTO> pagina;
+
+    @Setup
+    public void setUp() {
+        partidas = Dados.partidas(tamanho);
+        pagina = filtrarEmMemoria();
+    }
+
+    @Benchmark
+    public List<RetornarPartidaDTO> filtrarEmMemoria() {
+        List<RetornarPartidaDTO> lista = new ArrayList<>();
+        for (Partida partida : partidas) {
+            if (partida.getMandante().getIdentificador().equals("time-3")) {
+                lista.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+            }
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public String etagDaPagina() {
+        return ETags.deColecao(pagina, RetornarPartidaDTO::getId, RetornarPartidaDTO::getVersao);
+    }
+}
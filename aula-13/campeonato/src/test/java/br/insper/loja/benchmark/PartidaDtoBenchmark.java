@@ -0,0 +1,48 @@
+package br.insper.loja.benchmark;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartidaDtoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int tamanho;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Partida> partidas;
+
+    private List<RetornarPartidaDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        partidas = Dados.partidas(tamanho);
+        dtos = converter();
+    }
+
+    @Benchmark
+    public List<RetornarPartidaDTO> converter() {
+        List<RetornarPartidaDTO> response = new ArrayList<>(partidas.size());
+        for (Partida partida : partidas) {
+            response.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        }
+        return response;
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,78 @@
+package br.insper.loja.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+
+public class CachedJwtDecoderTests {
+
+    private JwtDecoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachedJwtDecoder decoder;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = Mockito.mock(JwtDecoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachedJwtDecoder(delegate, "teste", 100, meterRegistry);
+    }
+
+    @Test
+    public void testTokenVerificadoUmaUnicaVez() {
+
+        String token = "cabecalho.corpo.assinatura";
+        Mockito.when(delegate.decode(token)).thenReturn(jwt(token, Instant.now().plusSeconds(300)));
+
+        Jwt primeiro = decoder.decode(token);
+        Jwt segundo = decoder.decode(token);
+
+        Assertions.assertSame(primeiro, segundo);
+        Mockito.verify(delegate, Mockito.times(1)).decode(token);
+        Assertions.assertEquals(1, meterRegistry.get("auth.jwt.decode").tag("cache", "hit").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("auth.jwt.decode").tag("cache", "miss").timer().count());
+    }
+
+    @Test
+    public void testMesmaAssinaturaComOutroConteudoEVerificadoNovamente() {
+
+        String original = "cabecalho.corpo.assinatura";
+        String adulterado = "cabecalho.outro.assinatura";
+        Mockito.when(delegate.decode(original)).thenReturn(jwt(original, Instant.now().plusSeconds(300)));
+        Mockito.when(delegate.decode(adulterado)).thenReturn(jwt(adulterado, Instant.now().plusSeconds(300)));
+
+        decoder.decode(original);
+        decoder.decode(adulterado);
+
+        Mockito.verify(delegate).decode(adulterado);
+    }
+
+    @Test
+    public void testTokenExpiradoNaoFicaEmCache() {
+
+        String token = "cabecalho.corpo.assinatura";
+        Mockito.when(delegate.decode(token)).thenReturn(jwt(token, Instant.now().minusSeconds(1)));
+
+        decoder.decode(token);
+        decoder.decode(token);
+
+        Mockito.verify(delegate, Mockito.times(2)).decode(token);
+    }
+
+    private Jwt jwt(String token, Instant expiracao) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("email", "usuario@insper.edu.br")
+                .issuedAt(expiracao.minusSeconds(600))
+                .expiresAt(expiracao)
+                .build();
+    }
+
+}
@@ -0,0 +1,50 @@
+package br.insper.loja.common;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ETagsTests {
+
+    @Test
+    public void testColecaoSemMudancaMantemETag() {
+
+        List<RetornarPartidaDTO> partidas = List.of(partida(1, 0), partida(2, 3));
+
+        Assertions.assertEquals(etag(partidas), etag(List.of(partida(1, 0), partida(2, 3))));
+    }
+
+    @Test
+    public void testNovaVersaoDeUmItemMudaETagDaColecao() {
+
+        String antes = etag(List.of(partida(1, 0), partida(2, 3)));
+        String depois = etag(List.of(partida(1, 0), partida(2, 4)));
+
+        Assertions.assertNotEquals(antes, depois);
+    }
+
+    @Test
+    public void testNovoItemMudaETagDaColecao() {
+
+        String antes = etag(List.of(partida(1, 0)));
+        String depois = etag(List.of(partida(1, 0), partida(2, 0)));
+
+        Assertions.assertNotEquals(antes, depois);
+    }
+
+    @Test
+    public void testETagDeRecursoEForte() {
+
+        Assertions.assertEquals("\"7-2\"", ETags.deRecurso(7, 2));
+    }
+
+    private String etag(List<RetornarPartidaDTO> partidas) {
+        return ETags.deColecao(partidas, RetornarPartidaDTO::getId, RetornarPartidaDTO::getVersao);
+    }
+
+    private RetornarPartidaDTO partida(Integer id, long versao) {
+        return new RetornarPartidaDTO(id, "Mandante", "Visitante", null, null, "AGENDADA", versao);
+    }
+}
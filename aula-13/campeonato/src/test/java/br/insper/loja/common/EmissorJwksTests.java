@@ -0,0 +1,96 @@
+package br.insper.loja.common;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+public class EmissorJwksTests {
+
+    private static final String EMISSOR = "http://localhost:1/realms/teste";
+
+    @TempDir
+    private Path diretorio;
+
+    private RSAKey chave;
+
+    private Path arquivo;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        chave = new RSAKeyGenerator(2048).keyID("chave-1").generate();
+        arquivo = diretorio.resolve("jwks.json");
+        Files.writeString(arquivo, new JWKSet(chave).toString(true));
+    }
+
+    @Test
+    public void testVerificaTokenComChavesDoArquivoSemAcessarEmissor() throws Exception {
+
+        EmissorJwks jwks = new EmissorJwks(EMISSOR, arquivo);
+
+        Assertions.assertTrue(jwks.carregarArquivo());
+        Assertions.assertTrue(jwks.isCarregado());
+
+        JwtDecoder decoder = EmissoresJwt.criarDecoder(EMISSOR, jwks);
+        Jwt jwt = decoder.decode(token(chave, EMISSOR));
+
+        Assertions.assertEquals("usuario@insper.edu.br", jwt.getClaimAsString("email"));
+    }
+
+    @Test
+    public void testRejeitaTokenDeOutroEmissor() throws Exception {
+
+        EmissorJwks jwks = new EmissorJwks(EMISSOR, arquivo);
+        jwks.carregarArquivo();
+
+        JwtDecoder decoder = EmissoresJwt.criarDecoder(EMISSOR, jwks);
+
+        Assertions.assertThrows(JwtException.class,
+                () -> decoder.decode(token(chave, "http://localhost:1/realms/outro")));
+    }
+
+    @Test
+    public void testFalhaNaAtualizacaoMantemChavesCarregadas() {
+
+        EmissorJwks jwks = new EmissorJwks(EMISSOR, arquivo);
+        jwks.carregarArquivo();
+
+        Assertions.assertFalse(jwks.atualizar());
+        Assertions.assertTrue(jwks.isCarregado());
+    }
+
+    @Test
+    public void testSemArquivoNaoCarrega() {
+
+        EmissorJwks jwks = new EmissorJwks(EMISSOR, diretorio.resolve("inexistente.json"));
+
+        Assertions.assertFalse(jwks.carregarArquivo());
+        Assertions.assertFalse(jwks.isCarregado());
+    }
+
+    private String token(RSAKey chave, String emissor) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(emissor)
+                .claim("email", "usuario@insper.edu.br")
+                .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(chave.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(chave));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,143 @@
+package br.insper.loja.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+public class ReplicaRoutingDataSourceTests {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate leitura;
+
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primario = criarBanco("primario");
+        DataSource replica = criarBanco("replica");
+
+        routingDataSource = new ReplicaRoutingDataSource(primario, List.of(replica),
+                "select atraso from atraso_replica", Duration.ofSeconds(5));
+
+        dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        escrita = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void testLeituraVaiParaReplicaEEscritaParaPrimario() {
+
+        Assertions.assertEquals("replica", leitura.execute(status -> origem()));
+        Assertions.assertEquals("primario", escrita.execute(status -> origem()));
+        Assertions.assertEquals("primario", origem());
+    }
+
+    @Test
+    public void testReplicaAtrasadaVoltaParaPrimario() {
+
+        new JdbcTemplate(routingDataSourceReplica()).update("update atraso_replica set atraso = 30");
+
+        routingDataSource.verificarReplicas();
+
+        Assertions.assertTrue(routingDataSource.getReplicasDisponiveis().isEmpty());
+        Assertions.assertEquals("primario", leitura.execute(status -> origem()));
+
+        new JdbcTemplate(routingDataSourceReplica()).update("update atraso_replica set atraso = 1");
+
+        routingDataSource.verificarReplicas();
+
+        Assertions.assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    public void testEscritaJpaDepoisDeLeituraNaMesmaRequisicaoVaiParaPrimario() {
+
+        // como no POST /partida: getTime somente leitura e depois o save, em transacoes separadas
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReplicaRoutingDataSourceTests.class.getPackageName());
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate leituraJpa = new TransactionTemplate(transactionManager);
+            leituraJpa.setReadOnly(true);
+            TransactionTemplate escritaJpa = new TransactionTemplate(transactionManager);
+
+            Assertions.assertEquals("replica", leituraJpa.execute(status -> entityManager(entityManagerFactory)
+                    .createNativeQuery("select nome from origem").getSingleResult()));
+            escritaJpa.executeWithoutResult(status -> entityManager(entityManagerFactory)
+                    .createNativeQuery("insert into origem values ('escrita')").executeUpdate());
+
+            Assertions.assertEquals(1, contarEscritas(routingDataSource.getResolvedDefaultDataSource()));
+            Assertions.assertEquals(0, contarEscritas(routingDataSourceReplica()));
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    public void testOpenInViewDesligado() throws IOException {
+
+        // com open-in-view a requisicao segura a primeira conexao, e a escrita cairia na replica da leitura
+        Properties properties = new Properties();
+        properties.load(getClass().getResourceAsStream("/application.properties"));
+
+        Assertions.assertEquals("false", properties.getProperty("spring.jpa.open-in-view"));
+    }
+
+    private EntityManager entityManager(EntityManagerFactory entityManagerFactory) {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+
+    private int contarEscritas(DataSource banco) {
+        return new JdbcTemplate(banco).queryForObject("select count(*) from origem where nome = 'escrita'", Integer.class);
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("select nome from origem", String.class);
+    }
+
+    private DataSource routingDataSourceReplica() {
+        return routingDataSource.getResolvedDataSources().get("replica-0");
+    }
+
+    private DataSource criarBanco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nome + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table origem (nome varchar(20))");
+        jdbc.update("insert into origem values (?)", nome);
+        jdbc.execute("create table atraso_replica (atraso double)");
+        jdbc.update("insert into atraso_replica values (0)");
+        return dataSource;
+    }
+
+}
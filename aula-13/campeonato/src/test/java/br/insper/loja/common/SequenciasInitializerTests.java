@@ -0,0 +1,59 @@
+package br.insper.loja.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+public class SequenciasInitializerTests {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SequenciasInitializer sequenciasInitializer;
+
+    @BeforeEach
+    public void setUp() {
+        // cada comando abre uma conexao nova; sem DB_CLOSE_DELAY o banco em memoria some entre eles
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("create table partida (id integer primary key)");
+        // como o ddl-auto cria a sequencia em um banco que ja usava IDENTITY
+        jdbcTemplate.execute("create sequence partida_seq start with 1 increment by 50");
+
+        sequenciasInitializer = new SequenciasInitializer();
+        ReflectionTestUtils.setField(sequenciasInitializer, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    public void testReiniciaSequenciaAcimaDoMaiorId() {
+
+        jdbcTemplate.execute("insert into partida values (1), (2), (120)");
+
+        sequenciasInitializer.afterSingletonsInstantiated();
+
+        Long valor = jdbcTemplate.queryForObject("select next value for partida_seq", Long.class);
+        Assertions.assertTrue(valor - SequenciasInitializer.ALOCACAO + 1 > 120);
+    }
+
+    @Test
+    public void testNaoVoltaSequenciaQueJaEstaAFrente() {
+
+        jdbcTemplate.execute("insert into partida values (10)");
+        jdbcTemplate.execute("alter sequence partida_seq restart with 1000");
+
+        sequenciasInitializer.afterSingletonsInstantiated();
+
+        Assertions.assertEquals(1000, jdbcTemplate.queryForObject("select next value for partida_seq", Long.class));
+    }
+
+    @Test
+    public void testTabelaVaziaNaoMexeNaSequencia() {
+
+        sequenciasInitializer.afterSingletonsInstantiated();
+
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("select next value for partida_seq", Long.class));
+    }
+}
@@ -0,0 +1,208 @@
+package br.insper.loja.evento.service;
+
+import br.insper.loja.evento.dto.RegistrarEventoDTO;
+import br.insper.loja.evento.model.EstadoPartida;
+import br.insper.loja.evento.model.EventoPartida;
+import br.insper.loja.evento.model.Lado;
+import br.insper.loja.evento.model.SnapshotPartida;
+import br.insper.loja.evento.model.TipoEvento;
+import br.insper.loja.evento.repository.EventoPartidaRepository;
+import br.insper.loja.evento.repository.SnapshotPartidaRepository;
+import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.exception.PartidaEncerradaException;
+import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.partida.service.PartidaService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class EventoPartidaServiceTests {
+
+    @InjectMocks
+    private EventoPartidaService eventoPartidaService;
+
+    @Mock
+    private EventoPartidaRepository eventoPartidaRepository;
+
+    @Mock
+    private SnapshotPartidaRepository snapshotPartidaRepository;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    @Mock
+    private PartidaService partidaService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testEstadoDerivadoDoSnapshotMaisEventosPosteriores() {
+
+        SnapshotPartida snapshot = new SnapshotPartida();
+        snapshot.setPartidaId(1);
+        snapshot.setSequencia(50);
+        snapshot.setPlacarMandante(2);
+        snapshot.setStatus("EM_ANDAMENTO");
+
+        Mockito.when(partidaRepository.existsById(1)).thenReturn(true);
+        Mockito.when(snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(1)).thenReturn(Optional.of(snapshot));
+        Mockito.when(eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(1, 50))
+                .thenReturn(List.of(evento(51, TipoEvento.GOL, Lado.VISITANTE), evento(52, TipoEvento.INTERVALO, null)));
+
+        EstadoPartida estado = eventoPartidaService.getEstado(1);
+
+        Assertions.assertEquals(52, estado.getSequencia());
+        Assertions.assertEquals(2, estado.getPlacarMandante());
+        Assertions.assertEquals(1, estado.getPlacarVisitante());
+        Assertions.assertEquals("INTERVALO", estado.getStatus());
+    }
+
+    @Test
+    public void testSnapshotGravadoNoIntervalo() {
+
+        executarTransacoes();
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida("AGENDADA")));
+        Mockito.when(snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(1)).thenReturn(Optional.empty());
+        List<EventoPartida> anteriores = new ArrayList<>();
+        for (long i = 1; i < 50; i++) {
+            anteriores.add(evento(i, TipoEvento.CARTAO_AMARELO, Lado.MANDANTE));
+        }
+        Mockito.when(eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(1, 0)).thenReturn(anteriores);
+
+        EstadoPartida estado = eventoPartidaService.registrarEvento(1, dto(TipoEvento.GOL, Lado.MANDANTE));
+
+        ArgumentCaptor<SnapshotPartida> snapshot = ArgumentCaptor.forClass(SnapshotPartida.class);
+        Mockito.verify(snapshotPartidaRepository).save(snapshot.capture());
+        Assertions.assertEquals(50, snapshot.getValue().getSequencia());
+        Assertions.assertEquals(49, snapshot.getValue().getAmarelosMandante());
+        Assertions.assertEquals(1, estado.getPlacarMandante());
+    }
+
+    @Test
+    public void testConflitoDeSequenciaTentaNovamente() {
+
+        executarTransacoes();
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida("AGENDADA")));
+        Mockito.when(snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(1)).thenReturn(Optional.empty());
+        Mockito.when(eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(1, 0))
+                .thenReturn(List.of())
+                .thenReturn(List.of(evento(1, TipoEvento.INICIO, null)));
+        Mockito.when(eventoPartidaRepository.saveAndFlush(Mockito.any(EventoPartida.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_evento_partida_sequencia"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        EstadoPartida estado = eventoPartidaService.registrarEvento(1, dto(TipoEvento.GOL, Lado.VISITANTE));
+
+        Assertions.assertEquals(2, estado.getSequencia());
+        Assertions.assertEquals(1, estado.getPlacarVisitante());
+        Mockito.verify(eventoPartidaRepository, Mockito.times(2)).saveAndFlush(Mockito.any(EventoPartida.class));
+    }
+
+    @Test
+    public void testFimAtualizaPlacarDaPartida() {
+
+        executarTransacoes();
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida("AGENDADA")));
+        Mockito.when(snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(1)).thenReturn(Optional.empty());
+        Mockito.when(eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(1, 0))
+                .thenReturn(List.of(evento(1, TipoEvento.INICIO, null), evento(2, TipoEvento.GOL, Lado.MANDANTE)));
+
+        eventoPartidaService.registrarEvento(1, dto(TipoEvento.FIM, null));
+
+        ArgumentCaptor<EditarPartidaDTO> placar = ArgumentCaptor.forClass(EditarPartidaDTO.class);
+        Mockito.verify(partidaService).editarPartida(placar.capture(), Mockito.eq(1));
+        Assertions.assertEquals(1, placar.getValue().getPlacarMandante());
+        Assertions.assertEquals(0, placar.getValue().getPlacarVisitante());
+    }
+
+    @Test
+    public void testEventoEmPartidaInexistente() {
+
+        executarTransacoes();
+        Mockito.when(partidaRepository.findById(9)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(PartidaNaoEncontradaException.class,
+                () -> eventoPartidaService.registrarEvento(9, dto(TipoEvento.INICIO, null)));
+    }
+
+    @Test
+    public void testEventoDepoisDoFimEConflito() {
+
+        executarTransacoes();
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida("AGENDADA")));
+        Mockito.when(snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(1)).thenReturn(Optional.empty());
+        Mockito.when(eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(1, 0))
+                .thenReturn(List.of(evento(1, TipoEvento.INICIO, null), evento(2, TipoEvento.FIM, null)));
+
+        Assertions.assertThrows(PartidaEncerradaException.class,
+                () -> eventoPartidaService.registrarEvento(1, dto(TipoEvento.GOL, Lado.MANDANTE)));
+        Mockito.verify(eventoPartidaRepository, Mockito.never()).saveAndFlush(Mockito.any(EventoPartida.class));
+    }
+
+    @Test
+    public void testEventoEmPartidaEncerradaPeloPlacarEConflito() {
+
+        // encerrada por POST /partida/{id}: o log de eventos nao tem FIM
+        executarTransacoes();
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida("REALIZADA")));
+        Mockito.when(snapshotPartidaRepository.findFirstByPartidaIdOrderBySequenciaDesc(1)).thenReturn(Optional.empty());
+        Mockito.when(eventoPartidaRepository.findByPartidaIdAndSequenciaGreaterThanOrderBySequencia(1, 0))
+                .thenReturn(List.of());
+
+        Assertions.assertThrows(PartidaEncerradaException.class,
+                () -> eventoPartidaService.registrarEvento(1, dto(TipoEvento.INICIO, null)));
+        Mockito.verify(eventoPartidaRepository, Mockito.never()).saveAndFlush(Mockito.any(EventoPartida.class));
+    }
+
+    @Test
+    public void testGolSemLadoEInvalido() {
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> eventoPartidaService.registrarEvento(1, dto(TipoEvento.GOL, null)));
+        Mockito.verifyNoInteractions(eventoPartidaRepository);
+    }
+
+    private void executarTransacoes() {
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private Partida partida(String status) {
+        Partida partida = new Partida();
+        partida.setId(1);
+        partida.setStatus(status);
+        return partida;
+    }
+
+    private EventoPartida evento(long sequencia, TipoEvento tipo, Lado lado) {
+        EventoPartida evento = new EventoPartida();
+        evento.setPartidaId(1);
+        evento.setSequencia(sequencia);
+        evento.setTipo(tipo);
+        evento.setLado(lado);
+        return evento;
+    }
+
+    private RegistrarEventoDTO dto(TipoEvento tipo, Lado lado) {
+        RegistrarEventoDTO dto = new RegistrarEventoDTO();
+        dto.setTipo(tipo);
+        dto.setLado(lado);
+        return dto;
+    }
+}
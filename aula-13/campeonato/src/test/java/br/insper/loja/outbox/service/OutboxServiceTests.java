@@ -0,0 +1,192 @@
+package br.insper.loja.outbox.service;
+
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.loja.outbox.model.OutboxEvento;
+import br.insper.loja.outbox.model.OutboxLease;
+import br.insper.loja.outbox.repository.OutboxEventoRepository;
+import br.insper.loja.outbox.repository.OutboxLeaseRepository;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceTests {
+
+    @InjectMocks
+    private OutboxService outboxService;
+
+    @Mock
+    private OutboxEventoRepository outboxEventoRepository;
+
+    @Mock
+    private KafkaTemplate<String, PartidaEvento> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OutboxLeaseRepository outboxLeaseRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(outboxService, "meterRegistry", meterRegistry);
+        outboxService.registrarMetricas();
+    }
+
+    @Test
+    public void testPublicarPendentesEnviaEmOrdemComChaveDaPartida() throws Exception {
+
+        // preparacao
+        List<OutboxEvento> eventos = new ArrayList<>();
+        eventos.add(evento(1L, 10, 1));
+        eventos.add(evento(2L, 10, 2));
+        eventos.add(evento(3L, 20, 0));
+
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        liderar();
+        Mockito.when(outboxEventoRepository.buscarPendentes(Mockito.any(Pageable.class))).thenReturn(eventos);
+        Mockito.when(kafkaTemplate.send(Mockito.eq("partidas"), Mockito.anyString(), Mockito.any(PartidaEvento.class)))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        // chamada do codigo testado
+        outboxService.publicarPendentes();
+
+        // verificacao dos resultados
+        InOrder ordem = Mockito.inOrder(kafkaTemplate, outboxEventoRepository);
+        ordem.verify(kafkaTemplate).send(Mockito.eq("partidas"), Mockito.eq("10"),
+                Mockito.argThat(dto -> dto.getPlacarMandante() == 1 && dto.getVersao() == 1L));
+        ordem.verify(kafkaTemplate).send(Mockito.eq("partidas"), Mockito.eq("10"),
+                Mockito.argThat(dto -> dto.getPlacarMandante() == 2 && dto.getVersao() == 2L));
+        ordem.verify(kafkaTemplate).send(Mockito.eq("partidas"), Mockito.eq("20"), Mockito.any(PartidaEvento.class));
+        ordem.verify(outboxEventoRepository).deleteAllInBatch(eventos);
+        Assertions.assertEquals(3, meterRegistry.counter("outbox.publicados").count());
+    }
+
+    @Test
+    public void testPublicarPendentesMantemEventosQuandoKafkaFalha() {
+
+        List<OutboxEvento> eventos = List.of(evento(1L, 10, 1));
+
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        liderar();
+        Mockito.when(outboxEventoRepository.buscarPendentes(Mockito.any(Pageable.class))).thenReturn(eventos);
+        Mockito.when(kafkaTemplate.send(Mockito.eq("partidas"), Mockito.anyString(), Mockito.any(PartidaEvento.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker indisponivel")));
+
+        Assertions.assertThrows(Exception.class, () -> outboxService.publicarPendentes());
+        Mockito.verify(outboxEventoRepository, Mockito.never()).deleteAllInBatch(Mockito.any());
+    }
+
+    @Test
+    public void testSoODonoDoLeasePublica() {
+
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        Mockito.when(outboxLeaseRepository.renovar(Mockito.eq(OutboxLease.ID), Mockito.anyString(),
+                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(outboxLeaseRepository.existsById(OutboxLease.ID)).thenReturn(true);
+
+        outboxService.publicarPendentes();
+
+        Mockito.verify(outboxEventoRepository, Mockito.never()).buscarPendentes(Mockito.any(Pageable.class));
+        Mockito.verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    public void testEsperaOsAcksSemTransacaoAberta() throws Exception {
+
+        List<OutboxEvento> eventos = List.of(evento(1L, 10, 1));
+        List<Boolean> emTransacao = new ArrayList<>();
+        boolean[] dentro = {false};
+
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation -> {
+            dentro[0] = true;
+            try {
+                return ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null);
+            } finally {
+                dentro[0] = false;
+            }
+        });
+        liderar();
+        Mockito.when(outboxEventoRepository.buscarPendentes(Mockito.any(Pageable.class))).thenReturn(eventos);
+        Mockito.when(kafkaTemplate.send(Mockito.eq("partidas"), Mockito.anyString(), Mockito.any(PartidaEvento.class)))
+                .thenAnswer(invocation -> {
+                    emTransacao.add(dentro[0]);
+                    return CompletableFuture.completedFuture(Mockito.mock(SendResult.class));
+                });
+
+        outboxService.publicarPendentes();
+
+        Assertions.assertEquals(List.of(false), emTransacao);
+        Mockito.verify(outboxEventoRepository).deleteAllInBatch(eventos);
+    }
+
+    private void liderar() {
+        Mockito.when(outboxLeaseRepository.renovar(Mockito.eq(OutboxLease.ID), Mockito.anyString(),
+                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class))).thenReturn(1);
+    }
+
+    @Test
+    public void testRegistrarGuardaAVersaoDaPartidaNoPayload() throws Exception {
+
+        RetornarPartidaDTO dto = new RetornarPartidaDTO(10, "Mandante", "Visitante", 2, 1, "REALIZADA");
+        dto.setVersao(4);
+
+        outboxService.registrar("partidas", dto);
+
+        ArgumentCaptor<OutboxEvento> evento = ArgumentCaptor.forClass(OutboxEvento.class);
+        Mockito.verify(outboxEventoRepository).save(evento.capture());
+        PartidaEvento payload = new ObjectMapper().readValue(evento.getValue().getPayload(), PartidaEvento.class);
+        Assertions.assertEquals(4L, payload.getVersao());
+        Assertions.assertEquals(2, payload.getPlacarMandante());
+    }
+
+    private OutboxEvento evento(Long id, Integer partidaId, Integer placarMandante) {
+        PartidaEvento partidaEvento = new PartidaEvento(partidaId, "Mandante", "Visitante",
+                placarMandante, 0, "REALIZADA");
+        partidaEvento.setVersao(placarMandante.longValue());
+
+        OutboxEvento evento = new OutboxEvento();
+        evento.setId(id);
+        evento.setTopico("partidas");
+        evento.setPartidaId(partidaId);
+        evento.setDataCriacao(LocalDateTime.now());
+        try {
+            evento.setPayload(new ObjectMapper().writeValueAsString(partidaEvento));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return evento;
+    }
+
+}
@@ -0,0 +1,78 @@
+package br.insper.loja.partida.controller;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.service.PartidaService;
+import br.insper.loja.partida.service.PartidaStreamService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class PartidaControllerTests {
+
+    @InjectMocks
+    private PartidaController partidaController;
+
+    @Mock
+    private PartidaService partidaService;
+
+    @Mock
+    private PartidaStreamService partidaStreamService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(partidaController).build();
+    }
+
+    @Test
+    public void testGetPartidaComMesmaETagRetorna304() throws Exception {
+
+        Mockito.when(partidaService.getPartida(1))
+                .thenReturn(new RetornarPartidaDTO(1, "Mandante", "Visitante", null, null, "AGENDADA", 0));
+
+        String eTag = mockMvc.perform(get("/partida/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("AGENDADA"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(eTag);
+
+        mockMvc.perform(get("/partida/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testETagMudaQuandoEditarPartidaIncrementaVersao() throws Exception {
+
+        // editarPartida grava o placar e o @Version passa de 0 para 1
+        Mockito.when(partidaService.getPartida(1))
+                .thenReturn(new RetornarPartidaDTO(1, "Mandante", "Visitante", null, null, "AGENDADA", 0))
+                .thenReturn(new RetornarPartidaDTO(1, "Mandante", "Visitante", 2, 1, "REALIZADA", 1));
+
+        String antes = mockMvc.perform(get("/partida/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String depois = mockMvc.perform(get("/partida/1").header(HttpHeaders.IF_NONE_MATCH, antes))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REALIZADA"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Assertions.assertNotEquals(antes, depois);
+    }
+
+}
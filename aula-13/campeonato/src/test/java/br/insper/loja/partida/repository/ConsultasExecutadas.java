@@ -0,0 +1,21 @@
+package br.insper.loja.partida.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Guarda o SQL que o Hibernate envia ao banco, para os testes conferirem o plano de execucao.
+ */
+public class ConsultasExecutadas implements StatementInspector {
+
+    static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        SQL.add(sql);
+        return sql;
+    }
+
+}
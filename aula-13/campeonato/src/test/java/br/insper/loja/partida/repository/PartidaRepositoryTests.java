@@ -0,0 +1,152 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.model.Time;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.insper.loja.partida.repository.ConsultasExecutadas"})
+public class PartidaRepositoryTests {
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        Time[] times = new Time[4];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = entityManager.persist(new Time("Time " + i, "time-" + i, "Estadio " + i, "SP"));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            Partida partida = new Partida();
+            partida.setMandante(times[i % 4]);
+            partida.setVisitante(times[(i + 1) % 4]);
+            partida.setStatus(i % 2 == 0 ? "REALIZADA" : "AGENDADA");
+            entityManager.persist(partida);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testBuscarPartidasExecutaUmaUnicaConsulta() {
+
+        List<RetornarPartidaDTO> partidas = partidaRepository.buscarPartidas(null, null, null, null,
+                PageRequest.of(0, 100));
+
+        Assertions.assertEquals(50, partidas.size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testBuscarPartidasFiltradasComCursor() {
+
+        List<RetornarPartidaDTO> primeiraPagina = partidaRepository.buscarPartidas("time-0", null, "REALIZADA", null,
+                PageRequest.of(0, 10));
+        List<RetornarPartidaDTO> segundaPagina = partidaRepository.buscarPartidas("time-0", null, "REALIZADA",
+                primeiraPagina.getLast().getId(), PageRequest.of(0, 10));
+
+        Assertions.assertEquals(10, primeiraPagina.size());
+        Assertions.assertEquals(3, segundaPagina.size());
+        Assertions.assertTrue(segundaPagina.getFirst().getId() > primeiraPagina.getLast().getId());
+        Assertions.assertTrue(primeiraPagina.stream().allMatch(p -> p.getNomeMandante().equals("Time 0")));
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testBuscarPartidaExecutaUmaUnicaConsulta() {
+
+        Integer id = partidaRepository.buscarPartidas(null, null, null, null, PageRequest.of(0, 1))
+                .getFirst().getId();
+        statistics.clear();
+
+        Optional<RetornarPartidaDTO> partida = partidaRepository.buscarPartida(id);
+
+        Assertions.assertTrue(partida.isPresent());
+        Assertions.assertEquals("Time 0", partida.get().getNomeMandante());
+        Assertions.assertEquals("Time 1", partida.get().getNomeVisitante());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testAtualizarPartidaIncrementaVersaoUsadaNaETag() {
+
+        Integer id = partidaRepository.buscarPartidas(null, null, null, null, PageRequest.of(0, 1))
+                .getFirst().getId();
+        long antes = partidaRepository.buscarPartida(id).get().getVersao();
+
+        // o mesmo que editarPartida faz
+        Partida partida = partidaRepository.findById(id).get();
+        partida.setPlacarMandante(2);
+        partida.setPlacarVisitante(1);
+        partida.setStatus("REALIZADA");
+        partidaRepository.saveAndFlush(partida);
+        entityManager.clear();
+
+        Assertions.assertEquals(antes + 1, partidaRepository.buscarPartida(id).get().getVersao());
+    }
+
+    @Test
+    public void testListagemFiltradaUsaIndiceDeStatus() throws Exception {
+
+        ConsultasExecutadas.SQL.clear();
+        partidaRepository.buscarPartidas(null, null, "REALIZADA", 5, PageRequest.of(0, 10));
+
+        String sql = ConsultasExecutadas.SQL.getLast();
+        Assertions.assertFalse(sql.toLowerCase().contains("is null"), sql);
+
+        // a conexao da transacao do teste, que enxerga as partidas inseridas no setUp
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement explain = connection.prepareStatement("explain " + sql)) {
+            explain.setString(1, "REALIZADA");
+            explain.setInt(2, 5);
+            for (int i = 3; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                explain.setInt(i, 10);
+            }
+            try (ResultSet plano = explain.executeQuery()) {
+                plano.next();
+                Assertions.assertTrue(plano.getString(1).toUpperCase().contains("IDX_PARTIDA_STATUS"),
+                        plano.getString(1));
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+}
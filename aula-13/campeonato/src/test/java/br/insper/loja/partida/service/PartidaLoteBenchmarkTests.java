@@ -0,0 +1,70 @@
+package br.insper.loja.partida.service;
+
+import br.insper.loja.partida.dto.GerarPartidasDTO;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.dto.SalvarPartidaDTO;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.repository.TimeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// mvn -Pbenchmark test
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+public class PartidaLoteBenchmarkTests {
+
+    private static final int QUANTIDADE_TIMES = 40;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Test
+    public void compararCadastroUmAUmComGeracaoEmLote() {
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_TIMES; i++) {
+            ids.add(timeRepository.save(new Time("Time " + i, "bench-" + i, "Estadio " + i, "SP")).getId());
+        }
+
+        GerarPartidasDTO dto = new GerarPartidasDTO();
+        dto.setTimes(ids);
+
+        long inicio = System.nanoTime();
+        List<RetornarPartidaDTO> geradas = partidaService.gerarPartidas(dto);
+        long tempoLote = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < geradas.size(); i++) {
+            SalvarPartidaDTO salvarPartidaDTO = new SalvarPartidaDTO();
+            salvarPartidaDTO.setMandante(ids.get(i % QUANTIDADE_TIMES));
+            salvarPartidaDTO.setVisitante(ids.get((i + 1) % QUANTIDADE_TIMES));
+            partidaService.cadastrarPartida(salvarPartidaDTO);
+        }
+        long tempoUmAUm = System.nanoTime() - inicio;
+
+        Assertions.assertEquals(QUANTIDADE_TIMES * (QUANTIDADE_TIMES - 1), geradas.size());
+        Assertions.assertEquals(2L * geradas.size(), partidaRepository.count());
+
+        System.out.printf("partidas: %d%n", geradas.size());
+        System.out.printf("lote (POST /partida/lote): %.0f linhas/s%n", geradas.size() / (tempoLote / 1e9));
+        System.out.printf("um a um (POST /partida):   %.0f linhas/s%n", geradas.size() / (tempoUmAUm / 1e9));
+    }
+
+}
@@ -0,0 +1,232 @@
+package br.insper.loja.partida.service;
+
+import br.insper.loja.outbox.service.OutboxService;
+import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.dto.GerarPartidasDTO;
+import br.insper.loja.partida.dto.ResultadoPartidaDTO;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.dto.RetornarResultadosDTO;
+import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.service.TimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+public class PartidaServiceTests {
+
+    @InjectMocks
+    private PartidaService partidaService;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    @Mock
+    private TimeService timeService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testListarPartidasFiltradasPorMandante() {
+
+        // preparacao
+        List<RetornarPartidaDTO> lista = new ArrayList<>();
+        lista.add(new RetornarPartidaDTO(10, "Mandante", "Visitante", null, null, "AGENDADA"));
+
+        Mockito.when(partidaRepository.buscarPartidas("time-1", null, null, 5, PageRequest.of(0, 20)))
+                .thenReturn(lista);
+
+        // chamada do codigo testado
+        List<RetornarPartidaDTO> partidas = partidaService.listarPartidas("time-1", null, null, 5, 20);
+
+        // verificacao dos resultados
+        Assertions.assertEquals(1, partidas.size());
+        Assertions.assertEquals(10, partidas.getFirst().getId());
+        Assertions.assertEquals("Mandante", partidas.getFirst().getNomeMandante());
+    }
+
+    @Test
+    public void testListarPartidasLimitaTamanhoDaPagina() {
+
+        Mockito.when(partidaRepository.buscarPartidas(null, null, null, null,
+                        PageRequest.of(0, PartidaService.TAMANHO_MAXIMO_PAGINA)))
+                .thenReturn(new ArrayList<>());
+
+        List<RetornarPartidaDTO> partidas = partidaService.listarPartidas(null, null, null, null, 100000);
+
+        Assertions.assertTrue(partidas.isEmpty());
+    }
+
+    @Test
+    public void testGetPartidaWhenPartidaIsNull() {
+
+        Mockito.when(partidaRepository.buscarPartida(1)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(PartidaNaoEncontradaException.class,
+                () -> partidaService.getPartida(1));
+    }
+
+    @Test
+    public void testGetPartidasIgnoraIdsRepetidos() {
+
+        Mockito.when(partidaRepository.buscarPartidas(Set.of(1, 2)))
+                .thenReturn(List.of(new RetornarPartidaDTO(1, "Mandante", "Visitante", null, null, "AGENDADA")));
+
+        List<RetornarPartidaDTO> partidas = partidaService.getPartidas(List.of(1, 2, 1));
+
+        Assertions.assertEquals(1, partidas.size());
+    }
+
+    @Test
+    public void testGetPartidasLimitaQuantidadeDeIds() {
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i <= PartidaService.MAXIMO_IDS; i++) {
+            ids.add(i);
+        }
+
+        Assertions.assertThrows(RuntimeException.class, () -> partidaService.getPartidas(ids));
+        Mockito.verifyNoInteractions(partidaRepository);
+    }
+
+    @Test
+    public void testExportarPartidasEscreveUmaLinhaPorPartida() throws Exception {
+
+        Mockito.when(partidaRepository.streamPartidas()).thenReturn(Stream.of(
+                new RetornarPartidaDTO(1, "Mandante", "Visitante", 2, 1, "REALIZADA"),
+                new RetornarPartidaDTO(2, "Visitante", "Mandante", null, null, "AGENDADA")));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        partidaService.exportarPartidas(saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, linhas.length);
+        Assertions.assertEquals(1, objectMapper.readValue(linhas[0], RetornarPartidaDTO.class).getId());
+        Assertions.assertEquals("AGENDADA", objectMapper.readValue(linhas[1], RetornarPartidaDTO.class).getStatus());
+    }
+
+    @Test
+    public void testGerarPartidasTurnoEReturno() {
+
+        List<Time> times = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Time time = new Time("Time " + i, "time-" + i, "Estadio", "SP");
+            time.setId(i);
+            times.add(time);
+        }
+        Mockito.when(timeService.getTimes(List.of(1, 2, 3, 4, 5))).thenReturn(times);
+
+        GerarPartidasDTO dto = new GerarPartidasDTO();
+        dto.setTimes(List.of(1, 2, 3, 4, 5));
+
+        List<RetornarPartidaDTO> partidas = partidaService.gerarPartidas(dto);
+
+        // cada time enfrenta os outros quatro em casa e fora
+        Assertions.assertEquals(20, partidas.size());
+        Set<String> confrontos = new HashSet<>();
+        for (RetornarPartidaDTO partida : partidas) {
+            Assertions.assertNotEquals(partida.getNomeMandante(), partida.getNomeVisitante());
+            Assertions.assertTrue(confrontos.add(partida.getNomeMandante() + "x" + partida.getNomeVisitante()));
+        }
+        Mockito.verify(entityManager, Mockito.times(20)).persist(Mockito.any(Partida.class));
+    }
+
+    @Test
+    public void testGerarPartidasComTimeRepetido() {
+
+        GerarPartidasDTO dto = new GerarPartidasDTO();
+        dto.setTimes(List.of(1, 1));
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> partidaService.gerarPartidas(dto));
+    }
+
+    @Test
+    public void testRegistrarResultadosInformaPartidasNaoEncontradas() {
+
+        Partida partida = new Partida();
+        partida.setId(1);
+        partida.setMandante(new Time("Mandante", "time-1", "Estadio", "SP"));
+        partida.setVisitante(new Time("Visitante", "time-2", "Estadio", "RJ"));
+        partida.setStatus("AGENDADA");
+
+        Mockito.when(partidaRepository.buscarPartidasComTimes(Set.of(1, 2))).thenReturn(List.of(partida));
+
+        ResultadoPartidaDTO encontrado = new ResultadoPartidaDTO();
+        encontrado.setId(1);
+        encontrado.setPlacarMandante(2);
+        encontrado.setPlacarVisitante(0);
+        ResultadoPartidaDTO naoEncontrado = new ResultadoPartidaDTO();
+        naoEncontrado.setId(2);
+        naoEncontrado.setPlacarMandante(1);
+        naoEncontrado.setPlacarVisitante(1);
+
+        RetornarResultadosDTO resultado = partidaService.registrarResultados(List.of(encontrado, naoEncontrado));
+
+        Assertions.assertEquals(1, resultado.getAtualizadas().size());
+        Assertions.assertEquals("REALIZADA", resultado.getAtualizadas().getFirst().getStatus());
+        Assertions.assertEquals(2, resultado.getAtualizadas().getFirst().getPlacarMandante());
+        Assertions.assertEquals(List.of(2), resultado.getNaoEncontradas());
+        // o evento do outbox leva a versao que o flush gravou
+        InOrder ordem = Mockito.inOrder(partidaRepository, outboxService);
+        ordem.verify(partidaRepository).flush();
+        ordem.verify(outboxService, Mockito.times(1)).registrar(Mockito.eq("partidas"), Mockito.any(RetornarPartidaDTO.class));
+    }
+
+    @Test
+    public void testEditarPartidaPublicaAVersaoGravada() {
+
+        Partida partida = new Partida();
+        partida.setId(1);
+        partida.setMandante(new Time("Mandante", "time-1", "Estadio", "SP"));
+        partida.setVisitante(new Time("Visitante", "time-2", "Estadio", "RJ"));
+        partida.setStatus("AGENDADA");
+
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida));
+        // como o Hibernate: o @Version so muda no flush
+        Mockito.when(partidaRepository.saveAndFlush(partida)).thenAnswer(invocation -> {
+            partida.setVersao(partida.getVersao() + 1);
+            return partida;
+        });
+
+        EditarPartidaDTO dto = new EditarPartidaDTO();
+        dto.setPlacarMandante(2);
+        dto.setPlacarVisitante(0);
+        RetornarPartidaDTO retorno = partidaService.editarPartida(dto, 1);
+
+        ArgumentCaptor<RetornarPartidaDTO> evento = ArgumentCaptor.forClass(RetornarPartidaDTO.class);
+        Mockito.verify(outboxService).registrar(Mockito.eq("partidas"), evento.capture());
+        Assertions.assertEquals(1, evento.getValue().getVersao());
+        Assertions.assertEquals(1, retorno.getVersao());
+    }
+
+}
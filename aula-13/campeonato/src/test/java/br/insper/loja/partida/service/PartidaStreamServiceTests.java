@@ -0,0 +1,108 @@
+package br.insper.loja.partida.service;
+
+import br.insper.contrato.partida.PartidaEvento;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.exception.StreamIndisponivelException;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.time.model.Time;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+public class PartidaStreamServiceTests {
+
+    private PartidaStreamService partidaStreamService;
+
+    private PartidaRepository partidaRepository;
+
+    @BeforeEach
+    public void setUp() {
+        partidaStreamService = Mockito.spy(new PartidaStreamService());
+        partidaRepository = Mockito.mock(PartidaRepository.class);
+        ReflectionTestUtils.setField(partidaStreamService, "partidaRepository", partidaRepository);
+        ReflectionTestUtils.setField(partidaStreamService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(partidaStreamService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(partidaStreamService, "maxAssinantes", 2);
+        partidaStreamService.registrarMetricas();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        partidaStreamService.destroy();
+    }
+
+    @Test
+    public void testFiltroPorPartidaEPorTime() {
+
+        PartidaAtualizada evento = new PartidaAtualizada(
+                new RetornarPartidaDTO(1, "Mandante", "Visitante", 2, 1, "REALIZADA"), "MAN", "VIS");
+
+        Assertions.assertTrue(PartidaStreamService.aceita(evento, null, null));
+        Assertions.assertTrue(PartidaStreamService.aceita(evento, 1, null));
+        Assertions.assertTrue(PartidaStreamService.aceita(evento, null, "VIS"));
+        Assertions.assertFalse(PartidaStreamService.aceita(evento, 2, null));
+        Assertions.assertFalse(PartidaStreamService.aceita(evento, null, "OUT"));
+        Assertions.assertFalse(PartidaStreamService.aceita(evento, 1, "OUT"));
+    }
+
+    @Test
+    public void testRecusaAssinantesAcimaDoLimite() {
+
+        partidaStreamService.assinar(null, null);
+        partidaStreamService.assinar(1, null);
+
+        Assertions.assertEquals(2, partidaStreamService.getAssinantes());
+        Assertions.assertThrows(StreamIndisponivelException.class,
+                () -> partidaStreamService.assinar(null, "MAN"));
+    }
+
+    @Test
+    public void testEventoDoTopicoChegaAosAssinantesComOsTimes() throws Exception {
+
+        Partida partida = new Partida();
+        partida.setId(1);
+        partida.setMandante(new Time("Mandante", "MAN", "Estadio", "SP"));
+        partida.setVisitante(new Time("Visitante", "VIS", "Estadio", "RJ"));
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida));
+
+        PartidaEvento evento = new PartidaEvento(1, "Mandante", "Visitante", 2, 1, "REALIZADA");
+        evento.setVersao(3L);
+        partidaStreamService.receber(evento);
+
+        ArgumentCaptor<PartidaAtualizada> atualizada = ArgumentCaptor.forClass(PartidaAtualizada.class);
+        Mockito.verify(partidaStreamService).publicar(atualizada.capture());
+        Assertions.assertEquals("MAN", atualizada.getValue().mandante());
+        Assertions.assertEquals("VIS", atualizada.getValue().visitante());
+        Assertions.assertEquals(3, atualizada.getValue().partida().getVersao());
+        Assertions.assertEquals(2, atualizada.getValue().partida().getPlacarMandante());
+    }
+
+    @Test
+    public void testDescartaEventoAtrasadoDoTopico() throws Exception {
+
+        Partida partida = new Partida();
+        partida.setId(1);
+        partida.setMandante(new Time("Mandante", "MAN", "Estadio", "SP"));
+        partida.setVisitante(new Time("Visitante", "VIS", "Estadio", "RJ"));
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida));
+
+        PartidaEvento novo = new PartidaEvento(1, "Mandante", "Visitante", 2, 1, "REALIZADA");
+        novo.setVersao(2L);
+        PartidaEvento antigo = new PartidaEvento(1, "Mandante", "Visitante", null, null, "AGENDADA");
+        antigo.setVersao(1L);
+
+        partidaStreamService.receber(novo);
+        partidaStreamService.receber(antigo);
+
+        Mockito.verify(partidaStreamService, Mockito.times(1)).publicar(Mockito.any(PartidaAtualizada.class));
+    }
+}
@@ -0,0 +1,75 @@
+package br.insper.loja.time.controller;
+
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.service.TimeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class TimeControllerTests {
+
+    @InjectMocks
+    private TimeController timeController;
+
+    @Mock
+    private TimeService timeService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(timeController).build();
+    }
+
+    @Test
+    public void testListaDeTimesComMesmaETagRetorna304() throws Exception {
+
+        Mockito.when(timeService.listarTimes(null)).thenReturn(List.of(time(1, 0), time(2, 0)));
+
+        String eTag = mockMvc.perform(get("/time"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/time").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testListaDeTimesMudaETagQuandoUmTimeMuda() throws Exception {
+
+        Mockito.when(timeService.listarTimes(null))
+                .thenReturn(List.of(time(1, 0), time(2, 0)))
+                .thenReturn(List.of(time(1, 0), time(2, 1)));
+
+        String antes = mockMvc.perform(get("/time"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String depois = mockMvc.perform(get("/time").header(HttpHeaders.IF_NONE_MATCH, antes))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Assertions.assertNotEquals(antes, depois);
+    }
+
+    private Time time(Integer id, long versao) {
+        Time time = new Time("Time " + id, "time-" + id, "Estadio", "SP");
+        time.setId(id);
+        time.setVersao(versao);
+        return time;
+    }
+
+}
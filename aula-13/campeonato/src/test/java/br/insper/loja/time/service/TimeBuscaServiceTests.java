@@ -0,0 +1,98 @@
+package br.insper.loja.time.service;
+
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.repository.TimeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class TimeBuscaServiceTests {
+
+    @InjectMocks
+    private TimeBuscaService timeBuscaService;
+
+    @Mock
+    private TimeRepository timeRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(timeBuscaService, "meterRegistry", new SimpleMeterRegistry());
+        timeBuscaService.registrarMetricas();
+
+        Mockito.when(timeRepository.findAll()).thenReturn(List.of(
+                time(1, "São Paulo", "sao-paulo"),
+                time(2, "Palmeiras", "palmeiras"),
+                time(3, "Santos", "santos"),
+                time(4, "Atlético Paranaense", "athletico")));
+        timeBuscaService.reconstruir();
+    }
+
+    @Test
+    public void testBuscaPorPrefixoCurto() {
+
+        List<Time> times = timeBuscaService.buscar("pa", 10);
+
+        Assertions.assertEquals(List.of("Palmeiras", "Atlético Paranaense", "São Paulo"),
+                times.stream().map(Time::getNome).toList());
+    }
+
+    @Test
+    public void testBuscaPorSubstringIgnoraAcentosEMaiusculas() {
+
+        List<Time> times = timeBuscaService.buscar("TLETI", 10);
+
+        Assertions.assertEquals(1, times.size());
+        Assertions.assertEquals(4, times.getFirst().getId());
+    }
+
+    @Test
+    public void testBuscaPeloIdentificador() {
+
+        Assertions.assertEquals(1, timeBuscaService.buscar("sao-p", 10).getFirst().getId());
+    }
+
+    @Test
+    public void testIndexarSubstituiEntradaAnterior() {
+
+        timeBuscaService.indexar(time(3, "Santos FC", "santos-fc"));
+
+        Assertions.assertEquals(4, timeBuscaService.getTamanho());
+        Assertions.assertEquals("Santos FC", timeBuscaService.buscar("san", 10).getFirst().getNome());
+        Assertions.assertTrue(timeBuscaService.buscar("sfc", 10).isEmpty());
+    }
+
+    @Test
+    public void testReindexarTimeRemovido() {
+
+        Mockito.when(timeRepository.findById(2)).thenReturn(Optional.empty());
+
+        timeBuscaService.reindexar(2);
+
+        Assertions.assertEquals(3, timeBuscaService.getTamanho());
+        Assertions.assertTrue(timeBuscaService.buscar("palm", 10).isEmpty());
+    }
+
+    @Test
+    public void testLimiteEMemoriaReportada() {
+
+        Assertions.assertEquals(2, timeBuscaService.buscar("p", 2).size());
+        Assertions.assertTrue(timeBuscaService.getMemoriaEstimada() > 0);
+    }
+
+    private Time time(Integer id, String nome, String identificador) {
+        Time time = new Time(nome, identificador, "Estadio", "SP");
+        time.setId(id);
+        return time;
+    }
+}
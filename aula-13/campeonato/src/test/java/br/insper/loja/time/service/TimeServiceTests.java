@@ -25,6 +25,12 @@ public class TimeServiceTests {
     @Mock
     private TimeRepository timeRepository;
 
+    @Mock
+    private TimeCacheService timeCacheService;
+
+    @Mock
+    private TimeBuscaService timeBuscaService;
+
     @Test
     public void testListarTimesWhenEstadoIsNull() {
 
@@ -87,5 +93,20 @@ public class TimeServiceTests {
 
     }
 
+    @Test
+    public void testCadastrarTimeInvalidaCache() {
+
+        Time time = new Time("Time", "time-1", "Estadio", "SP");
+        Time salvo = new Time("Time", "time-1", "Estadio", "SP");
+        salvo.setId(7);
+
+        Mockito.when(timeRepository.save(time)).thenReturn(salvo);
+
+        Time timeRetorno = timeService.cadastrarTime(time);
+
+        Assertions.assertEquals(7, timeRetorno.getId());
+        Mockito.verify(timeCacheService).invalidar(7);
+        Mockito.verify(timeBuscaService).indexar(salvo);
+    }
 
 }
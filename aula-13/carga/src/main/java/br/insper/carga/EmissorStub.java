@@ -0,0 +1,122 @@
+package br.insper.carga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Emissor OIDC minimo para testes locais: publica a configuracao de descoberta e o JWKS que os
+ * servicos consultam na inicializacao e emite tokens RS256 em GET {emissor}/token?email=...
+ * Os servicos precisam confiar nele com seguranca.emissores={emissor}.
+ */
+public class EmissorStub {
+
+    public static final String CAMINHO = "/realms/carga";
+
+    private static final String KID = "carga";
+
+    private final KeyPair chaves;
+
+    private final String emissor;
+
+    private final HttpServer servidor;
+
+    public EmissorStub(int porta) throws Exception {
+        KeyPairGenerator gerador = KeyPairGenerator.getInstance("RSA");
+        gerador.initialize(2048);
+        this.chaves = gerador.generateKeyPair();
+        this.emissor = "http://localhost:" + porta + CAMINHO;
+
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), 0);
+        this.servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.servidor.createContext(CAMINHO + "/.well-known/openid-configuration", this::configuracao);
+        this.servidor.createContext(CAMINHO + "/protocol/openid-connect/certs", this::jwks);
+        this.servidor.createContext(CAMINHO + "/token", this::token);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    public void parar() {
+        servidor.stop(0);
+    }
+
+    public String getEmissor() {
+        return emissor;
+    }
+
+    public String gerarToken(String email) throws Exception {
+        long agora = Instant.now().getEpochSecond();
+        String cabecalho = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + KID + "\"}";
+        String corpo = "{\"iss\":\"" + emissor + "\",\"sub\":\"" + UUID.randomUUID() + "\",\"email\":\"" + email
+                + "\",\"iat\":" + agora + ",\"exp\":" + (agora + 3600) + "}";
+
+        String assinado = base64(cabecalho.getBytes(StandardCharsets.UTF_8)) + "."
+                + base64(corpo.getBytes(StandardCharsets.UTF_8));
+
+        Signature assinatura = Signature.getInstance("SHA256withRSA");
+        assinatura.initSign(chaves.getPrivate());
+        assinatura.update(assinado.getBytes(StandardCharsets.US_ASCII));
+        return assinado + "." + base64(assinatura.sign());
+    }
+
+    private void configuracao(HttpExchange exchange) throws IOException {
+        responder(exchange, "application/json", "{\"issuer\":\"" + emissor + "\",\"jwks_uri\":\"" + emissor
+                + "/protocol/openid-connect/certs\",\"id_token_signing_alg_values_supported\":[\"RS256\"]}");
+    }
+
+    private void jwks(HttpExchange exchange) throws IOException {
+        RSAPublicKey publica = (RSAPublicKey) chaves.getPublic();
+        responder(exchange, "application/json", "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\""
+                + KID + "\",\"n\":\"" + base64(semSinal(publica.getModulus())) + "\",\"e\":\""
+                + base64(semSinal(publica.getPublicExponent())) + "\"}]}");
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        String email = "carga@insper.edu.br";
+        URI uri = exchange.getRequestURI();
+        if (uri.getQuery() != null && uri.getQuery().startsWith("email=")) {
+            email = uri.getQuery().substring("email=".length());
+        }
+        try {
+            responder(exchange, "text/plain", gerarToken(email));
+        } catch (Exception e) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        }
+    }
+
+    private void responder(HttpExchange exchange, String tipo, String conteudo) throws IOException {
+        byte[] bytes = conteudo.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", tipo);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream saida = exchange.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    private static byte[] semSinal(BigInteger valor) {
+        byte[] bytes = valor.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
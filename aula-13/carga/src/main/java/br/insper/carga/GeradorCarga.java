@@ -0,0 +1,248 @@
+package br.insper.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Gerador de carga em modelo aberto: as requisicoes partem em uma taxa constante, independente de
+ * quanto os servicos demoram para responder, cada uma em sua propria virtual thread. A latencia e
+ * medida a partir do instante em que a requisicao deveria ter partido, entao atrasos do proprio
+ * gerador entram na conta em vez de esconder filas (coordinated omission).
+ *
+ * Uso, com os servicos rodando localmente e seguranca.emissores=http://localhost:9000/realms/carga:
+ *   mvn compile exec:java -Dexec.args="emissor"
+ *   mvn compile exec:java -Dexec.args="taxa=200 duracao=60 aquecimento=10"
+ *
+ * Parametros (chave=valor): taxa, duracao, aquecimento, campeonato, aposta, tabela, emissor, token,
+ * partidas, times e mix (nome:peso separados por virgula).
+ */
+public class GeradorCarga {
+
+    private static final String MIX_PADRAO = "listar-partidas:25,partida:20,times:5,buscar-times:5,"
+            + "editar-partida:5,cadastrar-partida:2,apostar:15,listar-apostas:3,tabela:20";
+
+    private static final String[] RESULTADOS = {"EMPATE", "VITORIA_MANDANTE", "VITORIA_VISITANTE"};
+
+    private final Map<String, String> parametros;
+
+    private final HttpClient client;
+
+    private final List<Operacao> operacoes = new ArrayList<>();
+
+    private final Map<String, Resultado> resultados = new LinkedHashMap<>();
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    private final AtomicInteger maximoEmAndamento = new AtomicInteger();
+
+    private int pesoTotal;
+
+    private String token;
+
+    public GeradorCarga(Map<String, String> parametros) {
+        this.parametros = parametros;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador > 0) {
+                parametros.put(arg.substring(0, separador), arg.substring(separador + 1));
+            } else {
+                parametros.put("modo", arg);
+            }
+        }
+
+        if ("emissor".equals(parametros.get("modo"))) {
+            EmissorStub emissor = new EmissorStub(Integer.parseInt(parametros.getOrDefault("porta", "9000")));
+            emissor.iniciar();
+            System.out.println("Emissor stub em " + emissor.getEmissor());
+            Thread.currentThread().join();
+        }
+
+        new GeradorCarga(parametros).executar();
+    }
+
+    public void executar() throws Exception {
+        int taxa = inteiro("taxa", 100);
+        int duracao = inteiro("duracao", 60);
+        int aquecimento = inteiro("aquecimento", 10);
+
+        token = parametros.containsKey("token") ? parametros.get("token") : obterToken();
+        configurarOperacoes();
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(aquecimento);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+
+        System.out.printf("%d req/s por %ds (+%ds de aquecimento)%n", taxa, duracao, aquecimento);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long previsto = inicio + i * intervalo;
+                if (previsto >= fim) {
+                    break;
+                }
+                long espera = previsto - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacao operacao = sortear();
+                boolean medir = previsto >= inicioMedicao;
+                executor.execute(() -> enviar(operacao, previsto, medir));
+            }
+        }
+
+        imprimir(duracao);
+    }
+
+    private void enviar(Operacao operacao, long previsto, boolean medir) {
+        maximoEmAndamento.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+        boolean erro;
+        try {
+            HttpRequest requisicao = operacao.requisicao().apply(ThreadLocalRandom.current())
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+            HttpResponse<Void> resposta = client.send(requisicao, HttpResponse.BodyHandlers.discarding());
+            erro = resposta.statusCode() >= 400;
+        } catch (Exception e) {
+            erro = true;
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+
+        if (medir) {
+            Resultado resultado = resultados.get(operacao.nome());
+            resultado.latencias().registrar((System.nanoTime() - previsto) / 1000);
+            if (erro) {
+                resultado.erros().incrementAndGet();
+            }
+        }
+    }
+
+    private void configurarOperacoes() {
+        String campeonato = parametros.getOrDefault("campeonato", "http://localhost:8080");
+        String aposta = parametros.getOrDefault("aposta", "http://localhost:8081");
+        String tabela = parametros.getOrDefault("tabela", "http://localhost:8082");
+        int partidas = inteiro("partidas", 100);
+        int times = inteiro("times", 20);
+
+        Map<String, Function<ThreadLocalRandom, HttpRequest.Builder>> disponiveis = new HashMap<>();
+        disponiveis.put("listar-partidas", r -> get(campeonato + "/partida?tamanho=100"));
+        disponiveis.put("partida", r -> get(campeonato + "/partida/" + r.nextInt(1, partidas + 1)));
+        disponiveis.put("times", r -> get(campeonato + "/time"));
+        disponiveis.put("buscar-times", r -> get(campeonato + "/time?q=" + (char) ('a' + r.nextInt(26))));
+        disponiveis.put("editar-partida", r -> post(campeonato + "/partida/" + r.nextInt(1, partidas + 1),
+                "{\"placarMandante\":" + r.nextInt(5) + ",\"placarVisitante\":" + r.nextInt(5) + "}"));
+        disponiveis.put("cadastrar-partida", r -> {
+            int mandante = r.nextInt(1, times + 1);
+            int visitante = mandante % times + 1;
+            return post(campeonato + "/partida", "{\"mandante\":" + mandante + ",\"visitante\":" + visitante + "}");
+        });
+        disponiveis.put("apostar", r -> post(aposta + "/aposta", "{\"idPartida\":" + r.nextInt(1, partidas + 1)
+                + ",\"resultado\":\"" + RESULTADOS[r.nextInt(RESULTADOS.length)] + "\",\"valor\":10.0}"));
+        disponiveis.put("listar-apostas", r -> get(aposta + "/aposta"));
+        disponiveis.put("tabela", r -> get(tabela + "/tabela"));
+
+        for (String item : parametros.getOrDefault("mix", MIX_PADRAO).split(",")) {
+            String[] partes = item.split(":");
+            Function<ThreadLocalRandom, HttpRequest.Builder> requisicao = disponiveis.get(partes[0]);
+            if (requisicao == null) {
+                throw new IllegalArgumentException("Operacao desconhecida: " + partes[0]);
+            }
+            int peso = Integer.parseInt(partes[1]);
+            operacoes.add(new Operacao(partes[0], peso, requisicao));
+            resultados.put(partes[0], new Resultado(new Histograma(), new AtomicLong()));
+            pesoTotal += peso;
+        }
+    }
+
+    private Operacao sortear() {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        return operacoes.getLast();
+    }
+
+    private String obterToken() throws Exception {
+        String emissor = parametros.getOrDefault("emissor", "http://localhost:9000" + EmissorStub.CAMINHO);
+        HttpResponse<String> resposta = client.send(
+                HttpRequest.newBuilder(URI.create(emissor + "/token?email=carga@insper.edu.br")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Emissor respondeu " + resposta.statusCode());
+        }
+        return resposta.body();
+    }
+
+    private void imprimir(int duracao) {
+        System.out.printf("%n%-18s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operacao", "total", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histograma geral = new Histograma();
+        long errosGerais = 0;
+        for (Map.Entry<String, Resultado> entrada : resultados.entrySet()) {
+            Histograma latencias = entrada.getValue().latencias();
+            long erros = entrada.getValue().erros().get();
+            imprimirLinha(entrada.getKey(), latencias, erros, duracao);
+            geral.somar(latencias);
+            errosGerais += erros;
+        }
+        imprimirLinha("total", geral, errosGerais, duracao);
+        System.out.printf("%nmaximo de requisicoes simultaneas: %d%n", maximoEmAndamento.get());
+    }
+
+    private void imprimirLinha(String nome, Histograma latencias, long erros, int duracao) {
+        System.out.printf("%-18s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                nome, latencias.getTotal(), erros, latencias.getTotal() / (double) duracao,
+                latencias.percentil(50) / 1000.0, latencias.percentil(90) / 1000.0,
+                latencias.percentil(99) / 1000.0, latencias.percentil(99.9) / 1000.0,
+                latencias.getMaximo() / 1000.0);
+    }
+
+    private HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private HttpRequest.Builder post(String url, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    private int inteiro(String nome, int padrao) {
+        return Integer.parseInt(parametros.getOrDefault(nome, String.valueOf(padrao)));
+    }
+
+    private record Operacao(String nome, int peso, Function<ThreadLocalRandom, HttpRequest.Builder> requisicao) {
+    }
+
+    private record Resultado(Histograma latencias, AtomicLong erros) {
+    }
+}
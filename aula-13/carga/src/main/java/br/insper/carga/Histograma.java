@@ -0,0 +1,84 @@
+package br.insper.carga;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma log-linear de latencias em microssegundos, no estilo do HdrHistogram: valores ate 255
+ * sao exatos e acima disso cada potencia de dois e dividida em 128 faixas, o que limita o erro de
+ * qualquer percentil a menos de 1%. Gravar e lock-free e nao aloca.
+ */
+public class Histograma {
+
+    private static final int SUB_FAIXAS = 128;
+
+    private static final int FAIXAS = 2 * SUB_FAIXAS + 56 * SUB_FAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong maximo = new AtomicLong();
+
+    public void registrar(long micros) {
+        long valor = Math.max(0, micros);
+        contagens.incrementAndGet(indice(valor));
+        total.incrementAndGet();
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    public void somar(Histograma outro) {
+        for (int i = 0; i < FAIXAS; i++) {
+            long contagem = outro.contagens.get(i);
+            if (contagem > 0) {
+                contagens.addAndGet(i, contagem);
+            }
+        }
+        total.addAndGet(outro.total.get());
+        maximo.accumulateAndGet(outro.maximo.get(), Math::max);
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Limite superior da faixa que contem o percentil pedido (0 a 100).
+     */
+    public long percentil(double percentil) {
+        long quantidade = total.get();
+        if (quantidade == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * quantidade));
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    static int indice(long valor) {
+        if (valor < 2 * SUB_FAIXAS) {
+            return (int) valor;
+        }
+        int deslocamento = (63 - Long.numberOfLeadingZeros(valor)) - 7;
+        return 2 * SUB_FAIXAS + (deslocamento - 1) * SUB_FAIXAS + (int) ((valor >> deslocamento) - SUB_FAIXAS);
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < 2 * SUB_FAIXAS) {
+            return indice;
+        }
+        int deslocamento = (indice - 2 * SUB_FAIXAS) / SUB_FAIXAS + 1;
+        long mantissa = (indice - 2 * SUB_FAIXAS) % SUB_FAIXAS + SUB_FAIXAS;
+        return ((mantissa + 1) << deslocamento) - 1;
+    }
+}
@@ -0,0 +1,60 @@
+package br.insper.carga;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HistogramaTests {
+
+    @Test
+    public void testValoresPequenosSaoExatos() {
+
+        Histograma histograma = new Histograma();
+        for (long i = 1; i <= 100; i++) {
+            histograma.registrar(i);
+        }
+
+        Assertions.assertEquals(50, histograma.percentil(50));
+        Assertions.assertEquals(99, histograma.percentil(99));
+        Assertions.assertEquals(100, histograma.percentil(100));
+    }
+
+    @Test
+    public void testErroRelativoMenorQueUmPorCento() {
+
+        for (long valor = 256; valor < 10_000_000_000L; valor = valor * 3 / 2 + 7) {
+            long limite = Histograma.limiteSuperior(Histograma.indice(valor));
+            Assertions.assertTrue(limite >= valor, "limite abaixo de " + valor);
+            Assertions.assertTrue((limite - valor) / (double) valor < 0.01, "erro alto para " + valor);
+        }
+    }
+
+    @Test
+    public void testPercentisComCaudaLonga() {
+
+        Histograma histograma = new Histograma();
+        for (int i = 0; i < 990; i++) {
+            histograma.registrar(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histograma.registrar(500_000);
+        }
+
+        Assertions.assertEquals(1_000, histograma.percentil(50), 10);
+        Assertions.assertEquals(1_000, histograma.percentil(99), 10);
+        Assertions.assertEquals(500_000, histograma.percentil(99.9), 5_000);
+        Assertions.assertEquals(500_000, histograma.getMaximo());
+    }
+
+    @Test
+    public void testSomar() {
+
+        Histograma a = new Histograma();
+        Histograma b = new Histograma();
+        a.registrar(10);
+        b.registrar(20);
+        a.somar(b);
+
+        Assertions.assertEquals(2, a.getTotal());
+        Assertions.assertEquals(20, a.getMaximo());
+    }
+}
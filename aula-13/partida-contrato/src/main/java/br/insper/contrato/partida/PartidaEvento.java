@@ -0,0 +1,105 @@
+package br.insper.contrato.partida;
+
+import java.util.Objects;
+
+public class PartidaEvento {
+    private Integer id;
+    private String nomeMandante;
+    private String nomeVisitante;
+    private Integer placarMandante;
+    private Integer placarVisitante;
+    private String status;
+    // versao da partida no campeonato; eventos com versao menor que a ja aplicada estao atrasados
+    private Long versao;
+
+    public PartidaEvento() {
+    }
+
+    public PartidaEvento(Integer id, String nomeMandante, String nomeVisitante,
+                         Integer placarMandante, Integer placarVisitante, String status) {
+        this.id = id;
+        this.nomeMandante = nomeMandante;
+        this.nomeVisitante = nomeVisitante;
+        this.placarMandante = placarMandante;
+        this.placarVisitante = placarVisitante;
+        this.status = status;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getNomeMandante() {
+        return nomeMandante;
+    }
+
+    public void setNomeMandante(String nomeMandante) {
+        this.nomeMandante = nomeMandante;
+    }
+
+    public String getNomeVisitante() {
+        return nomeVisitante;
+    }
+
+    public void setNomeVisitante(String nomeVisitante) {
+        this.nomeVisitante = nomeVisitante;
+    }
+
+    public Integer getPlacarMandante() {
+        return placarMandante;
+    }
+
+    public void setPlacarMandante(Integer placarMandante) {
+        this.placarMandante = placarMandante;
+    }
+
+    public Integer getPlacarVisitante() {
+        return placarVisitante;
+    }
+
+    public void setPlacarVisitante(Integer placarVisitante) {
+        this.placarVisitante = placarVisitante;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PartidaEvento that)) {
+            return false;
+        }
+        return Objects.equals(id, that.id)
+                && Objects.equals(nomeMandante, that.nomeMandante)
+                && Objects.equals(nomeVisitante, that.nomeVisitante)
+                && Objects.equals(placarMandante, that.placarMandante)
+                && Objects.equals(placarVisitante, that.placarVisitante)
+                && Objects.equals(status, that.status)
+                && Objects.equals(versao, that.versao);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nomeMandante, nomeVisitante, placarMandante, placarVisitante, status, versao);
+    }
+}
@@ -0,0 +1,187 @@
+package br.insper.contrato.partida;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Formato binario dos eventos de partida.
+ *
+ * <p>O primeiro byte e a versao do contrato, seguido dos campos na ordem em que foram
+ * introduzidos. Inteiros usam varint e strings sao gravadas como varint do tamanho + UTF-8;
+ * em ambos o valor 0 representa {@code null}. Versoes novas so podem acrescentar campos ao
+ * final, entao um leitor antigo ignora os bytes que nao conhece e um leitor novo trata os
+ * campos ausentes como {@code null}.</p>
+ *
+ * <p>Versao 2 acrescenta a versao da partida.</p>
+ *
+ * <p>Bytes truncados ou malformados sao rejeitados com {@link IllegalArgumentException}.</p>
+ */
+public final class PartidaEventoCodec {
+
+    public static final byte VERSAO_ATUAL = 2;
+
+    public static final String HEADER_VERSAO = "partida-contrato-versao";
+
+    private PartidaEventoCodec() {
+    }
+
+    public static byte[] encode(PartidaEvento evento) {
+        Escritor escritor = new Escritor();
+        escritor.writeByte(VERSAO_ATUAL);
+        escritor.writeInteger(evento.getId());
+        escritor.writeString(evento.getNomeMandante());
+        escritor.writeString(evento.getNomeVisitante());
+        escritor.writeInteger(evento.getPlacarMandante());
+        escritor.writeInteger(evento.getPlacarVisitante());
+        escritor.writeString(evento.getStatus());
+        escritor.writeLong(evento.getVersao());
+        return escritor.toByteArray();
+    }
+
+    public static PartidaEvento decode(byte[] dados) {
+        Leitor leitor = new Leitor(dados);
+        byte versao = leitor.readByte();
+        if (versao < 1) {
+            throw new IllegalArgumentException("Versao de contrato invalida: " + versao);
+        }
+
+        PartidaEvento evento = new PartidaEvento();
+        evento.setId(leitor.readInteger());
+        evento.setNomeMandante(leitor.readString());
+        evento.setNomeVisitante(leitor.readString());
+        evento.setPlacarMandante(leitor.readInteger());
+        evento.setPlacarVisitante(leitor.readInteger());
+        evento.setStatus(leitor.readString());
+        evento.setVersao(leitor.readLong());
+        return evento;
+    }
+
+    private static final class Escritor {
+        private byte[] buffer = new byte[64];
+        private int posicao;
+
+        void writeByte(int valor) {
+            garantirEspaco(1);
+            buffer[posicao++] = (byte) valor;
+        }
+
+        void writeInteger(Integer valor) {
+            writeVarint(valor == null ? 0 : zigZag(valor) + 1);
+        }
+
+        void writeLong(Long valor) {
+            writeVarint(valor == null ? 0 : zigZag(valor) + 1);
+        }
+
+        void writeString(String valor) {
+            if (valor == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1L);
+            garantirEspaco(bytes.length);
+            System.arraycopy(bytes, 0, buffer, posicao, bytes.length);
+            posicao += bytes.length;
+        }
+
+        void writeVarint(long valor) {
+            garantirEspaco(10);
+            while ((valor & ~0x7FL) != 0) {
+                buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            buffer[posicao++] = (byte) valor;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, posicao);
+        }
+
+        private static long zigZag(int valor) {
+            return ((valor << 1) ^ (valor >> 31)) & 0xFFFFFFFFL;
+        }
+
+        private static long zigZag(long valor) {
+            return (valor << 1) ^ (valor >> 63);
+        }
+
+        private void garantirEspaco(int tamanho) {
+            if (posicao + tamanho > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posicao + tamanho));
+            }
+        }
+    }
+
+    private static final class Leitor {
+        private final byte[] dados;
+        private int posicao;
+
+        Leitor(byte[] dados) {
+            this.dados = dados;
+        }
+
+        byte readByte() {
+            if (posicao >= dados.length) {
+                throw new IllegalArgumentException("Evento de partida truncado");
+            }
+            return dados[posicao++];
+        }
+
+        Integer readInteger() {
+            if (posicao >= dados.length) {
+                return null;
+            }
+            long valor = readVarint();
+            if (valor == 0) {
+                return null;
+            }
+            int zigZag = (int) (valor - 1);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+
+        Long readLong() {
+            if (posicao >= dados.length) {
+                return null;
+            }
+            long valor = readVarint();
+            if (valor == 0) {
+                return null;
+            }
+            long zigZag = valor - 1;
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+
+        String readString() {
+            if (posicao >= dados.length) {
+                return null;
+            }
+            long tamanho = readVarint();
+            if (tamanho == 0) {
+                return null;
+            }
+            if (tamanho - 1 > dados.length - posicao) {
+                throw new IllegalArgumentException("Evento de partida truncado");
+            }
+            int bytes = (int) (tamanho - 1);
+            String valor = new String(dados, posicao, bytes, StandardCharsets.UTF_8);
+            posicao += bytes;
+            return valor;
+        }
+
+        long readVarint() {
+            long valor = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                if (deslocamento > 63) {
+                    throw new IllegalArgumentException("Varint invalido no evento de partida");
+                }
+                b = readByte();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((b & 0x80) != 0);
+            return valor;
+        }
+    }
+}
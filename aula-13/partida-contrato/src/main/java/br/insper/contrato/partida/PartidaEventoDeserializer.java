@@ -0,0 +1,62 @@
+package br.insper.contrato.partida;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Le eventos no formato binario e, enquanto houver produtores antigos no topico,
+ * tambem o JSON do {@code JsonSerializer}, reconhecido pela ausencia do header de versao
+ * ou, sem headers, pelo primeiro byte. Falhas de leitura viram {@link SerializationException},
+ * para que o error handler do container pule o registro em vez de repeti-lo.
+ */
+public class PartidaEventoDeserializer implements Deserializer<PartidaEvento> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public PartidaEvento deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        // a versao do contrato nunca chega a '{', entao um objeto JSON e inconfundivel
+        if (data.length > 0 && data[0] == '{') {
+            return lerJson(topic, data);
+        }
+        return lerBinario(topic, data);
+    }
+
+    @Override
+    public PartidaEvento deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header versao = headers.lastHeader(PartidaEventoCodec.HEADER_VERSAO);
+        if (versao != null) {
+            return lerBinario(topic, data);
+        }
+        return lerJson(topic, data);
+    }
+
+    private PartidaEvento lerBinario(String topic, byte[] data) {
+        try {
+            return PartidaEventoCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Evento de partida invalido no topico " + topic, e);
+        }
+    }
+
+    private PartidaEvento lerJson(String topic, byte[] data) {
+        try {
+            return objectMapper.readValue(data, PartidaEvento.class);
+        } catch (IOException e) {
+            throw new SerializationException("Evento de partida invalido no topico " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.insper.contrato.partida;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class PartidaEventoSerializer implements Serializer<PartidaEvento> {
+
+    @Override
+    public byte[] serialize(String topic, PartidaEvento data) {
+        if (data == null) {
+            return null;
+        }
+        return PartidaEventoCodec.encode(data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, PartidaEvento data) {
+        headers.remove(PartidaEventoCodec.HEADER_VERSAO);
+        headers.add(PartidaEventoCodec.HEADER_VERSAO, new byte[]{PartidaEventoCodec.VERSAO_ATUAL});
+        return serialize(topic, data);
+    }
+}
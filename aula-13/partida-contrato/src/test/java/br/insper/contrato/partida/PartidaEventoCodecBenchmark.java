@@ -0,0 +1,63 @@
+package br.insper.contrato.partida;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// mvn test-compile exec:java
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartidaEventoCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PartidaEvento evento;
+
+    private byte[] binario;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        evento = new PartidaEvento(123456, "São Paulo", "Palmeiras", 2, 1, "REALIZADA");
+        binario = PartidaEventoCodec.encode(evento);
+        json = objectMapper.writeValueAsBytes(evento);
+    }
+
+    @Benchmark
+    public byte[] encodeBinario() {
+        return PartidaEventoCodec.encode(evento);
+    }
+
+    @Benchmark
+    public PartidaEvento decodeBinario() {
+        return PartidaEventoCodec.decode(binario);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(evento);
+    }
+
+    @Benchmark
+    public PartidaEvento decodeJson() throws Exception {
+        return objectMapper.readValue(json, PartidaEvento.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        PartidaEventoCodecBenchmark benchmark = new PartidaEventoCodecBenchmark();
+        benchmark.setUp();
+        System.out.printf("bytes por mensagem: binario=%d json=%d%n", benchmark.binario.length, benchmark.json.length);
+
+        new Runner(new OptionsBuilder()
+                .include(PartidaEventoCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
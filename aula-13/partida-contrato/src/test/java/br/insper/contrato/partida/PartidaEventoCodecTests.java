@@ -0,0 +1,124 @@
+package br.insper.contrato.partida;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class PartidaEventoCodecTests {
+
+    @Test
+    public void testEncodeDecode() {
+
+        PartidaEvento evento = new PartidaEvento(123456, "São Paulo", "Palmeiras", 2, 1, "REALIZADA");
+        evento.setVersao(7L);
+
+        Assertions.assertEquals(evento, PartidaEventoCodec.decode(PartidaEventoCodec.encode(evento)));
+    }
+
+    @Test
+    public void testEncodeDecodeComNulosENegativos() {
+
+        PartidaEvento evento = new PartidaEvento(Integer.MIN_VALUE, null, "Visitante", null, -1, "AGENDADA");
+
+        Assertions.assertEquals(evento, PartidaEventoCodec.decode(PartidaEventoCodec.encode(evento)));
+    }
+
+    @Test
+    public void testVersaoNovaComCamposExtrasEIgnorada() {
+
+        PartidaEvento evento = new PartidaEvento(1, "Mandante", "Visitante", 0, 0, "REALIZADA");
+        byte[] atual = PartidaEventoCodec.encode(evento);
+
+        // simula uma versao futura que acrescentou um inteiro e uma string ao final
+        byte[] futuro = Arrays.copyOf(atual, atual.length + 3);
+        futuro[0] = PartidaEventoCodec.VERSAO_ATUAL + 1;
+        futuro[atual.length] = 8;
+        futuro[atual.length + 1] = 2;
+        futuro[atual.length + 2] = 'x';
+
+        Assertions.assertEquals(evento, PartidaEventoCodec.decode(futuro));
+    }
+
+    @Test
+    public void testVersaoUmSemVersaoDaPartida() {
+
+        PartidaEvento evento = new PartidaEvento(1, "Mandante", "Visitante", 2, 0, "REALIZADA");
+        evento.setVersao(3L);
+        byte[] atual = PartidaEventoCodec.encode(evento);
+
+        // produtor antigo: versao 1 do contrato, sem o ultimo campo
+        byte[] antigo = Arrays.copyOf(atual, atual.length - 1);
+        antigo[0] = 1;
+
+        PartidaEvento lido = PartidaEventoCodec.decode(antigo);
+        Assertions.assertNull(lido.getVersao());
+        Assertions.assertEquals(2, lido.getPlacarMandante());
+    }
+
+    @Test
+    public void testBinarioMenorQueJson() throws Exception {
+
+        PartidaEvento evento = new PartidaEvento(123456, "São Paulo", "Palmeiras", 2, 1, "REALIZADA");
+
+        byte[] binario = PartidaEventoCodec.encode(evento);
+        byte[] json = new ObjectMapper().writeValueAsBytes(evento);
+
+        Assertions.assertTrue(binario.length * 2 < json.length);
+    }
+
+    @Test
+    public void testSerializerGravaHeaderEDeserializerAceitaJsonAntigo() throws Exception {
+
+        PartidaEvento evento = new PartidaEvento(1, "Mandante", "Visitante", 3, 0, "REALIZADA");
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] dados = new PartidaEventoSerializer().serialize("partidas", headers, evento);
+
+        Assertions.assertArrayEquals(new byte[]{PartidaEventoCodec.VERSAO_ATUAL},
+                headers.lastHeader(PartidaEventoCodec.HEADER_VERSAO).value());
+        Assertions.assertEquals(evento, new PartidaEventoDeserializer().deserialize("partidas", headers, dados));
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(evento);
+        Assertions.assertEquals(evento,
+                new PartidaEventoDeserializer().deserialize("partidas", new RecordHeaders(), json));
+    }
+
+    @Test
+    public void testEventoTruncadoViraSerializationException() {
+
+        PartidaEvento evento = new PartidaEvento(123456, "São Paulo", "Palmeiras", 2, 1, "REALIZADA");
+        byte[] dados = PartidaEventoCodec.encode(evento);
+        RecordHeaders headers = new RecordHeaders();
+        new PartidaEventoSerializer().serialize("partidas", headers, evento);
+
+        // corta no meio do nome do mandante
+        byte[] truncado = Arrays.copyOf(dados, 6);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PartidaEventoCodec.decode(truncado));
+        Assertions.assertThrows(SerializationException.class,
+                () -> new PartidaEventoDeserializer().deserialize("partidas", headers, truncado));
+        Assertions.assertThrows(SerializationException.class,
+                () -> new PartidaEventoDeserializer().deserialize("partidas", truncado));
+        Assertions.assertThrows(SerializationException.class,
+                () -> new PartidaEventoDeserializer().deserialize("partidas", new byte[0]));
+        // varint que nunca termina
+        Assertions.assertThrows(SerializationException.class,
+                () -> new PartidaEventoDeserializer().deserialize("partidas", new byte[]{1, (byte) 0x80, (byte) 0x80}));
+    }
+
+    @Test
+    public void testDeserializerSemHeadersReconheceJson() throws Exception {
+
+        PartidaEvento evento = new PartidaEvento(1, "Mandante", "Visitante", 3, 0, "REALIZADA");
+        byte[] json = new ObjectMapper().writeValueAsBytes(evento);
+
+        Assertions.assertEquals(evento, new PartidaEventoDeserializer().deserialize("partidas", json));
+        Assertions.assertEquals(evento,
+                new PartidaEventoDeserializer().deserialize("partidas", PartidaEventoCodec.encode(evento)));
+    }
+
+}